@@ -0,0 +1,31 @@
+package com.ems.employee_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaginationSettings {
+
+    @Value("${pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    // Unpaged list responses can materialise whole tables, so they must be switched on explicitly
+    @Value("${pagination.allow-unpaged:false}")
+    private boolean allowUnpaged;
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    public void requireUnpagedAllowed() {
+        if (!allowUnpaged) {
+            throw new RuntimeException("Unpaged listing is disabled; use cursor pagination");
+        }
+    }
+}
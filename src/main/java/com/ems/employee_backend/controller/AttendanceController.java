@@ -1,8 +1,16 @@
 package com.ems.employee_backend.controller;
 
+import com.ems.employee_backend.config.PaginationSettings;
+import com.ems.employee_backend.dto.PageResponse;
+import com.ems.employee_backend.dto.AttendanceReportResponse;
 import com.ems.employee_backend.dto.AttendanceRequest;
 import com.ems.employee_backend.dto.AttendanceResponse;
+import com.ems.employee_backend.dto.CalendarResponse;
+import com.ems.employee_backend.dto.PunchBatchRequest;
+import com.ems.employee_backend.dto.PunchBatchResponse;
 import com.ems.employee_backend.service.AttendanceService;
+import com.ems.employee_backend.service.DataExportService;
+import com.ems.employee_backend.service.PunchIngestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +20,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/attendance")
@@ -26,6 +37,9 @@ import java.util.Map;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final PaginationSettings paginationSettings;
+    private final DataExportService dataExportService;
+    private final PunchIngestionService punchIngestionService;
 
     @PostMapping
     @Operation(summary = "Create attendance record", description = "Create a new attendance record for an employee")
@@ -43,8 +57,15 @@ public class AttendanceController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Attendance records retrieved successfully")
     })
-    public ResponseEntity<List<AttendanceResponse>> getAllAttendance() {
-        return new ResponseEntity<>(attendanceService.getAll(), HttpStatus.OK);
+    public ResponseEntity<PageResponse<AttendanceResponse>> getAllAttendance(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Return all rows in one response (must be enabled in configuration)") @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            paginationSettings.requireUnpagedAllowed();
+            return new ResponseEntity<>(PageResponse.unpaged(attendanceService.getAll()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(attendanceService.getPage(cursor, paginationSettings.resolvePageSize(size)), HttpStatus.OK);
     }
 
     @GetMapping("/employee/{employeeId}")
@@ -65,6 +86,20 @@ public class AttendanceController {
         return new ResponseEntity<>(attendanceService.getByDateRange(startDate, endDate), HttpStatus.OK);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export attendance", description = "Stream attendance records as NDJSON or CSV, optionally limited to a date range")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @Parameter(description = "First date to include") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date to include") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip the response body") @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return DataExportService.asAttachment("attendance", csv, gzip, dataExportService.exportAttendance(from, to, csv, gzip));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AttendanceResponse> updateAttendance(@PathVariable Long id, @RequestBody AttendanceRequest request) {
         return new ResponseEntity<>(attendanceService.update(id, request), HttpStatus.OK);
@@ -86,10 +121,32 @@ public class AttendanceController {
     @Operation(summary = "Check in employee", description = "Record employee check-in time")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Check-in recorded successfully"),
-        @ApiResponse(responseCode = "404", description = "Employee not found")
+        @ApiResponse(responseCode = "404", description = "Employee not found"),
+        @ApiResponse(responseCode = "429", description = "Check-in queue is full")
     })
-    public ResponseEntity<AttendanceResponse> checkIn(@RequestBody Map<String, Long> request) {
-        return new ResponseEntity<>(attendanceService.checkIn(request.get("employeeId")), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<AttendanceResponse>> checkIn(@RequestBody Map<String, Long> request) {
+        return attendanceService.checkInAsync(request.get("employeeId"))
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/check-in/stats")
+    @Operation(summary = "Get check-in write path statistics", description = "Queue depth, batch sizes, rejections and commit latency of the group-commit check-in writer")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Check-in statistics retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getCheckInStats() {
+        return new ResponseEntity<>(attendanceService.getCheckInStats(), HttpStatus.OK);
+    }
+
+    @PostMapping("/punches/batch")
+    @Operation(summary = "Ingest a batch of punches", description = "Pair raw terminal punches into attendance rows per employee and day, with one outcome code per punch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Punches processed"),
+        @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size")
+    })
+    public ResponseEntity<PunchBatchResponse> ingestPunches(@RequestBody PunchBatchRequest request) {
+        return new ResponseEntity<>(punchIngestionService.ingest(request), HttpStatus.OK);
     }
 
     @PostMapping("/{id}/check-out")
@@ -124,6 +181,58 @@ public class AttendanceController {
         return new ResponseEntity<>(attendanceService.getMonthlySummary(month), HttpStatus.OK);
     }
 
+    @GetMapping("/department-summary")
+    @Operation(summary = "Get monthly summary per department", description = "Attendance totals for each department for a specific month, read from the monthly rollups")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Department summary retrieved successfully")
+    })
+    public ResponseEntity<List<Map<String, Object>>> getDepartmentMonthlySummary(
+            @Parameter(description = "Month (yyyy-MM)") @RequestParam String month) {
+        return new ResponseEntity<>(attendanceService.getDepartmentMonthlySummary(month), HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "Rebuild attendance rollups", description = "Recompute the daily and monthly rollup tables from the attendance table")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rollups rebuilt successfully")
+    })
+    public ResponseEntity<Map<String, Object>> rebuildRollups() {
+        return new ResponseEntity<>(attendanceService.rebuildRollups(), HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/archive/run")
+    @Operation(summary = "Archive closed months", description = "Move closed months out of the attendance table into the partitioned archive")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Closed months archived successfully")
+    })
+    public ResponseEntity<Map<String, Object>> archiveClosedMonths() {
+        return new ResponseEntity<>(attendanceService.archiveClosedMonths(), HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/migrations/drop-legacy-time-columns")
+    @Operation(summary = "Drop legacy check-in/check-out columns", description = "Copy any remaining varchar check-in/check-out values into the TIME columns, then drop the old columns; run once every node is on the new code")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Legacy columns dropped, or already gone"),
+        @ApiResponse(responseCode = "400", description = "Some legacy values do not parse; nothing was dropped")
+    })
+    public ResponseEntity<Map<String, Object>> dropLegacyTimeColumns() {
+        return new ResponseEntity<>(attendanceService.dropLegacyTimeColumns(), HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/migrations/resolve-duplicate-attendance")
+    @Operation(summary = "Resolve duplicate attendance rows", description = "Back up and remove duplicate attendance rows for the same employee and day, keeping the lowest id, then add the unique constraint")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Duplicates removed and constraint added, or constraint already present"),
+        @ApiResponse(responseCode = "400", description = "The constraint could still not be added")
+    })
+    public ResponseEntity<Map<String, Object>> resolveDuplicateAttendance() {
+        return new ResponseEntity<>(attendanceService.resolveDuplicateAttendance(), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get attendance by ID", description = "Retrieve a specific attendance record by ID")
     @ApiResponses(value = {
@@ -140,7 +249,7 @@ public class AttendanceController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Report generated successfully")
     })
-    public ResponseEntity<Map<String, Object>> generateReport(
+    public ResponseEntity<AttendanceReportResponse> generateReport(
             @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @Parameter(description = "Employee ID (optional)") @RequestParam(required = false) Long employeeId) {
@@ -152,7 +261,7 @@ public class AttendanceController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Calendar data retrieved successfully")
     })
-    public ResponseEntity<Map<String, Object>> getAttendanceCalendar(
+    public ResponseEntity<CalendarResponse> getAttendanceCalendar(
             @Parameter(description = "Year") @PathVariable int year,
             @Parameter(description = "Month") @PathVariable int month,
             @Parameter(description = "Employee ID (optional)") @RequestParam(required = false) Long employeeId) {
@@ -3,9 +3,13 @@ package com.ems.employee_backend.controller;
 import com.ems.employee_backend.dto.AuthRequest;
 import com.ems.employee_backend.dto.ChangePasswordRequest;
 import com.ems.employee_backend.dto.UserResponse;
+import com.ems.employee_backend.entity.User;
 import com.ems.employee_backend.service.CustomUserDetailsService;
+import com.ems.employee_backend.service.PasswordHashingService;
+import com.ems.employee_backend.service.TokenRevocationService;
 import com.ems.employee_backend.service.UserService;
 import com.ems.employee_backend.util.JWTUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +20,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
@@ -26,16 +32,23 @@ public class AuthController {
     private final JWTUtil jwtUtil;
     private final UserService userService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/login")
-    public ResponseEntity<UserResponse> generateToken(@RequestBody AuthRequest authRequest) {
+    public CompletableFuture<ResponseEntity<UserResponse>> generateToken(@RequestBody AuthRequest authRequest) {
+        // BCrypt verification runs on the hashing pool; a full queue is rejected with 429 before any work is done
+        return passwordHashingService.submit("login", () -> authenticate(authRequest));
+    }
+
+    private ResponseEntity<UserResponse> authenticate(AuthRequest authRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
             );
             
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtUtil.generateToken(authRequest.getUsername());
+            String token = jwtUtil.generateToken((User) userDetails);
             
             UserResponse response = new UserResponse();
 //            response.setId(userDetails);
@@ -52,8 +65,15 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<String> logout(HttpServletRequest request) {
-        // For JWT, logout is typically handled client-side by removing token
-        // We can add token blacklisting if needed in production
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtil.extractClaims(authHeader.substring(7));
+                tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+            } catch (Exception e) {
+                // Invalid or already expired token: nothing left to revoke
+            }
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok("Logged out successfully");
     }
@@ -63,12 +83,16 @@ public class AuthController {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
+            Claims claims = jwtUtil.extractClaims(token);
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                throw new RuntimeException("Invalid token for refresh");
+            }
+            String username = claims.getSubject();
             
             try {
                 UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
                 if (jwtUtil.validateToken(username, userDetails, token)) {
-                    String newToken = jwtUtil.generateToken(username);
+                    String newToken = jwtUtil.generateToken((User) userDetails);
                     
                     UserResponse response = new UserResponse();
                     response.setUsername(userDetails.getUsername());
@@ -86,13 +110,13 @@ public class AuthController {
     }
 
     @PostMapping("/change-password")
-    public ResponseEntity<String> changePassword(@RequestBody ChangePasswordRequest request) {
+    public CompletableFuture<ResponseEntity<String>> changePassword(@RequestBody ChangePasswordRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentUsername = authentication.getName();
-        
-        userService.changePassword(currentUsername, request.getCurrentPassword(), request.getNewPassword());
-        
-        return ResponseEntity.ok("Password changed successfully");
+
+        // Hashing runs on the hashing pool, like login; the request thread is released meanwhile
+        return userService.changePassword(currentUsername, request.getCurrentPassword(), request.getNewPassword())
+                .thenApply(done -> ResponseEntity.ok("Password changed successfully"));
     }
 
     @GetMapping("/profile")
@@ -0,0 +1,46 @@
+package com.ems.employee_backend.controller;
+
+import com.ems.employee_backend.service.BusinessCalendar;
+import com.ems.employee_backend.service.CustomUserDetailsService;
+import com.ems.employee_backend.service.DepartmentNameCache;
+import com.ems.employee_backend.util.JWTUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache-stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Cache Statistics", description = "APIs for inspecting in-process caches")
+public class CacheStatsController {
+
+    private final JWTUtil jwtUtil;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final DepartmentNameCache departmentNameCache;
+    private final BusinessCalendar businessCalendar;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    @Operation(summary = "Get cache statistics", description = "Hit rate, size, evictions and load latency for each in-process cache")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("jwtClaims", jwtUtil.getClaimsCacheStats());
+        stats.put("userDetails", customUserDetailsService.getCacheStats());
+        stats.put("departmentNames", departmentNameCache.getStats());
+        stats.put("businessCalendar", businessCalendar.getCacheStats());
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+}
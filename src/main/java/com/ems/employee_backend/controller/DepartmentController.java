@@ -2,7 +2,9 @@ package com.ems.employee_backend.controller;
 
 import com.ems.employee_backend.dto.DepartmentRequest;
 import com.ems.employee_backend.dto.DepartmentResponse;
+import com.ems.employee_backend.dto.TeamAvailabilityResponse;
 import com.ems.employee_backend.service.DepartmentService;
+import com.ems.employee_backend.service.TeamAvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,10 +12,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +29,7 @@ import java.util.Map;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final TeamAvailabilityService teamAvailabilityService;
 
     @PostMapping
     @Operation(summary = "Create a new department", description = "Create a new department in the system")
@@ -55,6 +60,19 @@ public class DepartmentController {
         return new ResponseEntity<>(departmentService.getStats(), HttpStatus.OK);
     }
 
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get team availability", description = "Per-day available headcount and a per-employee day matrix (present, leave, absent) for a department")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Availability retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Department not found or invalid date range")
+    })
+    public ResponseEntity<TeamAvailabilityResponse> getAvailability(
+            @Parameter(description = "Department ID") @PathVariable Long id,
+            @Parameter(description = "First date to include") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date to include") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return new ResponseEntity<>(teamAvailabilityService.getAvailability(id, from, to), HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a department", description = "Update an existing department's information")
     @ApiResponses(value = {
@@ -1,5 +1,7 @@
 package com.ems.employee_backend.controller;
 
+import com.ems.employee_backend.config.PaginationSettings;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.dto.DocumentRequest;
 import com.ems.employee_backend.dto.DocumentResponse;
 import com.ems.employee_backend.service.DocumentService;
@@ -23,6 +25,7 @@ import java.util.List;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final PaginationSettings paginationSettings;
 
     @PostMapping
     @Operation(summary = "Create document", description = "Create a new document record")
@@ -39,8 +42,15 @@ public class DocumentController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Documents retrieved successfully")
     })
-    public ResponseEntity<List<DocumentResponse>> getAllDocuments() {
-        return new ResponseEntity<>(documentService.getAll(), HttpStatus.OK);
+    public ResponseEntity<PageResponse<DocumentResponse>> getAllDocuments(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Return all rows in one response (must be enabled in configuration)") @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            paginationSettings.requireUnpagedAllowed();
+            return new ResponseEntity<>(PageResponse.unpaged(documentService.getAll()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(documentService.getPage(cursor, paginationSettings.resolvePageSize(size)), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
@@ -1,19 +1,27 @@
 package com.ems.employee_backend.controller;
 
 
+import com.ems.employee_backend.config.PaginationSettings;
+import com.ems.employee_backend.dto.PageResponse;
+import com.ems.employee_backend.dto.EmployeeImportResponse;
 import com.ems.employee_backend.dto.EmployeeRequest;
 import com.ems.employee_backend.dto.EmployeeResponse;
+import com.ems.employee_backend.service.DataExportService;
+import com.ems.employee_backend.service.EmployeeImportService;
 import com.ems.employee_backend.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -24,6 +32,9 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final PaginationSettings paginationSettings;
+    private final EmployeeImportService employeeImportService;
+    private final DataExportService dataExportService;
 
 
     @PostMapping
@@ -37,13 +48,43 @@ public class EmployeeController {
         return new ResponseEntity<>(employeeService.create(request), HttpStatus.CREATED);
     }
 
+    @PostMapping("/import")
+    @Operation(summary = "Bulk import employees", description = "Stream CSV (text/csv, header row required) or NDJSON rows from the request body and insert them in batches")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; per-row errors are listed in the response")
+    })
+    public ResponseEntity<EmployeeImportResponse> importEmployees(
+            HttpServletRequest request,
+            @Parameter(description = "csv or ndjson; defaults from Content-Type") @RequestParam(required = false) String format) throws IOException {
+        return new ResponseEntity<>(employeeImportService.importEmployees(request.getInputStream(), format, request.getContentType()), HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export employees", description = "Stream every employee as NDJSON or CSV without loading the table into memory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip the response body") @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return DataExportService.asAttachment("employees", csv, gzip, dataExportService.exportEmployees(csv, gzip));
+    }
+
     @GetMapping
     @Operation(summary = "Get all employees", description = "Retrieve a list of all employees in the system")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Employees retrieved successfully")
     })
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployee() {
-        return new ResponseEntity<>(employeeService.getAll(), HttpStatus.OK);
+    public ResponseEntity<PageResponse<EmployeeResponse>> getAllEmployee(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Return all rows in one response (must be enabled in configuration)") @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            paginationSettings.requireUnpagedAllowed();
+            return new ResponseEntity<>(PageResponse.unpaged(employeeService.getAll()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(employeeService.getPage(cursor, paginationSettings.resolvePageSize(size)), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
@@ -63,8 +104,9 @@ public class EmployeeController {
         @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
     })
     public ResponseEntity<List<EmployeeResponse>> searchEmployees(
-            @Parameter(description = "Search query") @RequestParam String q) {
-        return new ResponseEntity<>(employeeService.searchEmployees(q), HttpStatus.OK);
+            @Parameter(description = "Search query") @RequestParam String q,
+            @Parameter(description = "Maximum number of results") @RequestParam(required = false) Integer limit) {
+        return new ResponseEntity<>(employeeService.searchEmployees(q, paginationSettings.resolvePageSize(limit)), HttpStatus.OK);
     }
 
     @GetMapping("/department/{department}")
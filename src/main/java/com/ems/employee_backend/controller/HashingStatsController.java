@@ -0,0 +1,34 @@
+package com.ems.employee_backend.controller;
+
+import com.ems.employee_backend.service.PasswordHashingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/hashing-stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Password Hashing Statistics", description = "APIs for tuning the password hashing pool")
+public class HashingStatsController {
+
+    private final PasswordHashingService passwordHashingService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    @Operation(summary = "Get password hashing statistics", description = "Pool utilisation, rejections and per-operation latency histograms for tuning the BCrypt cost factor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hashing statistics retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getHashingStats() {
+        return new ResponseEntity<>(passwordHashingService.getStats(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ems.employee_backend.controller;
+
+import com.ems.employee_backend.dto.HolidayRequest;
+import com.ems.employee_backend.dto.HolidayResponse;
+import com.ems.employee_backend.service.HolidayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/holidays")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Holiday Calendar", description = "APIs for managing public holidays used in working-day calculations")
+public class HolidayController {
+
+    private final HolidayService holidayService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    @Operation(summary = "Create a holiday", description = "Add a holiday for one region, or for every region when no region is given")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Holiday created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or holiday already defined")
+    })
+    public ResponseEntity<HolidayResponse> createHoliday(@RequestBody HolidayRequest request) {
+        return new ResponseEntity<>(holidayService.create(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{year}")
+    @Operation(summary = "Get holidays for a year", description = "Holidays that apply in a region during the year")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Holidays retrieved successfully")
+    })
+    public ResponseEntity<List<HolidayResponse>> getHolidays(
+            @Parameter(description = "Year") @PathVariable int year,
+            @Parameter(description = "Region (optional)") @RequestParam(required = false) String region) {
+        return new ResponseEntity<>(holidayService.getByYear(year, region), HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a holiday", description = "Remove a holiday from the calendar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Holiday deleted successfully"),
+        @ApiResponse(responseCode = "404", description = "Holiday not found")
+    })
+    public ResponseEntity<Void> deleteHoliday(@Parameter(description = "Holiday ID") @PathVariable Long id) {
+        holidayService.delete(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,5 +1,11 @@
 package com.ems.employee_backend.controller;
 
+import com.ems.employee_backend.config.PaginationSettings;
+import com.ems.employee_backend.dto.PageResponse;
+import com.ems.employee_backend.dto.CalendarResponse;
+import com.ems.employee_backend.dto.LeaveBulkDecisionRequest;
+import com.ems.employee_backend.dto.LeaveBulkDecisionResponse;
+import com.ems.employee_backend.dto.LeaveReportResponse;
 import com.ems.employee_backend.dto.LeaveRequestRequest;
 import com.ems.employee_backend.dto.LeaveRequestResponse;
 import com.ems.employee_backend.service.LeaveRequestService;
@@ -12,9 +18,11 @@ import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/leave")
@@ -24,6 +32,7 @@ import java.util.List;
 public class LeaveRequestController {
 
     private final LeaveRequestService leaveRequestService;
+    private final PaginationSettings paginationSettings;
 
     @PostMapping
     @Operation(summary = "Create leave request", description = "Create a new leave request")
@@ -40,8 +49,15 @@ public class LeaveRequestController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Leave requests retrieved successfully")
     })
-    public ResponseEntity<List<LeaveRequestResponse>> getAllLeaveRequests() {
-        return new ResponseEntity<>(leaveRequestService.getAll(), HttpStatus.OK);
+    public ResponseEntity<PageResponse<LeaveRequestResponse>> getAllLeaveRequests(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Return all rows in one response (must be enabled in configuration)") @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            paginationSettings.requireUnpagedAllowed();
+            return new ResponseEntity<>(PageResponse.unpaged(leaveRequestService.getAll()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(leaveRequestService.getPage(cursor, paginationSettings.resolvePageSize(size)), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
@@ -85,12 +101,22 @@ public class LeaveRequestController {
         return new ResponseEntity<>(leaveRequestService.getLeaveBalance(employeeId, year), HttpStatus.OK);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/balances/rebuild")
+    @Operation(summary = "Rebuild leave balances", description = "Replay the leave balance ledger from approved leave requests")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Leave balances rebuilt successfully")
+    })
+    public ResponseEntity<Map<String, Object>> rebuildLeaveBalances() {
+        return new ResponseEntity<>(leaveRequestService.rebuildBalances(), HttpStatus.OK);
+    }
+
     @GetMapping("/report")
     @Operation(summary = "Generate leave report", description = "Generate leave report for date range")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Leave report generated successfully")
     })
-    public ResponseEntity<Object> generateLeaveReport(
+    public ResponseEntity<LeaveReportResponse> generateLeaveReport(
             @Parameter(description = "Start date") @RequestParam String startDate,
             @Parameter(description = "End date") @RequestParam String endDate,
             @Parameter(description = "Employee ID") @RequestParam(required = false) Long employeeId) {
@@ -102,7 +128,7 @@ public class LeaveRequestController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Leave calendar retrieved successfully")
     })
-    public ResponseEntity<Object> getLeaveCalendar(
+    public ResponseEntity<CalendarResponse> getLeaveCalendar(
             @Parameter(description = "Year") @PathVariable int year,
             @Parameter(description = "Month") @PathVariable int month,
             @Parameter(description = "Employee ID") @RequestParam(required = false) Long employeeId) {
@@ -124,6 +150,16 @@ public class LeaveRequestController {
         return new ResponseEntity<>(leaveRequestService.reject(id, comments), HttpStatus.OK);
     }
 
+    @PostMapping("/bulk-decision")
+    @Operation(summary = "Approve or reject leave requests in bulk", description = "Apply many approve/reject decisions in one transaction, with one outcome per decision")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Decisions applied; see per-item outcomes"),
+        @ApiResponse(responseCode = "400", description = "Batch too large or approving employee not found")
+    })
+    public ResponseEntity<LeaveBulkDecisionResponse> bulkDecision(@RequestBody LeaveBulkDecisionRequest request) {
+        return new ResponseEntity<>(leaveRequestService.bulkDecide(request), HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteLeaveRequest(@PathVariable Long id) {
         leaveRequestService.delete(id);
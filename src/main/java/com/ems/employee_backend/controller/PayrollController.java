@@ -1,7 +1,10 @@
 package com.ems.employee_backend.controller;
 
+import com.ems.employee_backend.config.PaginationSettings;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.dto.PayrollRequest;
 import com.ems.employee_backend.dto.PayrollResponse;
+import com.ems.employee_backend.service.DataExportService;
 import com.ems.employee_backend.service.PayrollService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,9 +12,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,6 +28,8 @@ import java.util.List;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final PaginationSettings paginationSettings;
+    private final DataExportService dataExportService;
 
     @PostMapping
     @Operation(summary = "Create payroll record", description = "Create a new payroll record")
@@ -39,8 +46,15 @@ public class PayrollController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Payroll records retrieved successfully")
     })
-    public ResponseEntity<List<PayrollResponse>> getAllPayroll() {
-        return new ResponseEntity<>(payrollService.getAll(), HttpStatus.OK);
+    public ResponseEntity<PageResponse<PayrollResponse>> getAllPayroll(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Return all rows in one response (must be enabled in configuration)") @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            paginationSettings.requireUnpagedAllowed();
+            return new ResponseEntity<>(PageResponse.unpaged(payrollService.getAll()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(payrollService.getPage(cursor, paginationSettings.resolvePageSize(size)), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
@@ -64,6 +78,20 @@ public class PayrollController {
         return new ResponseEntity<>(payrollService.getByPeriod(period), HttpStatus.OK);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export payroll", description = "Stream payroll records as NDJSON or CSV, optionally limited by pay period start date")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportPayroll(
+            @Parameter(description = "Earliest pay period start to include") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Latest pay period start to include") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip the response body") @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return DataExportService.asAttachment("payroll", csv, gzip, dataExportService.exportPayroll(from, to, csv, gzip));
+    }
+
     @GetMapping("/employee/{employeeId}")
     public ResponseEntity<List<PayrollResponse>> getPayrollByEmployee(@PathVariable Long employeeId) {
         return new ResponseEntity<>(payrollService.getByEmployeeId(employeeId), HttpStatus.OK);
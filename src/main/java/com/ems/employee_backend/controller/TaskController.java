@@ -1,5 +1,7 @@
 package com.ems.employee_backend.controller;
 
+import com.ems.employee_backend.config.PaginationSettings;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.dto.TaskRequest;
 import com.ems.employee_backend.dto.TaskResponse;
 import com.ems.employee_backend.service.TaskService;
@@ -23,6 +25,7 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final PaginationSettings paginationSettings;
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@RequestBody TaskRequest request) {
@@ -30,8 +33,15 @@ public class TaskController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return new ResponseEntity<>(taskService.getAll(), HttpStatus.OK);
+    public ResponseEntity<PageResponse<TaskResponse>> getAllTasks(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Return all rows in one response (must be enabled in configuration)") @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            paginationSettings.requireUnpagedAllowed();
+            return new ResponseEntity<>(PageResponse.unpaged(taskService.getAll()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(taskService.getPage(cursor, paginationSettings.resolvePageSize(size)), HttpStatus.OK);
     }
 
     @GetMapping("/employee/{employeeId}")
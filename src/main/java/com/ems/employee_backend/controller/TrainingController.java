@@ -1,5 +1,7 @@
 package com.ems.employee_backend.controller;
 
+import com.ems.employee_backend.config.PaginationSettings;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.dto.TrainingEnrollmentRequest;
 import com.ems.employee_backend.dto.TrainingEnrollmentResponse;
 import com.ems.employee_backend.dto.TrainingRequest;
@@ -26,6 +28,7 @@ import java.util.List;
 public class TrainingController {
 
     private final TrainingService trainingService;
+    private final PaginationSettings paginationSettings;
 
     @PostMapping
     @Operation(summary = "Create training", description = "Create a new training program")
@@ -38,8 +41,15 @@ public class TrainingController {
 
     @GetMapping
     @Operation(summary = "Get all trainings", description = "Retrieve all training programs")
-    public ResponseEntity<List<TrainingResponse>> getAllTrainings() {
-        return new ResponseEntity<>(trainingService.getAll(), HttpStatus.OK);
+    public ResponseEntity<PageResponse<TrainingResponse>> getAllTrainings(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Return all rows in one response (must be enabled in configuration)") @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            paginationSettings.requireUnpagedAllowed();
+            return new ResponseEntity<>(PageResponse.unpaged(trainingService.getAll()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(trainingService.getPage(cursor, paginationSettings.resolvePageSize(size)), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
@@ -9,6 +9,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
@@ -18,17 +20,17 @@ public class UserController {
     private final UserRegisterService userRegisterService;
 
     @PostMapping("/register")
-    public ResponseEntity<UserResponse> registerUser(@RequestBody RegisterUserRequest registerUserRequest) {
+    public CompletableFuture<ResponseEntity<UserResponse>> registerUser(@RequestBody RegisterUserRequest registerUserRequest) {
         registerUserRequest.setRole("USER");
-        UserResponse userResponse = userRegisterService.registerUser(registerUserRequest);
-        return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
+        return userRegisterService.registerUser(registerUserRequest)
+                .thenApply(userResponse -> new ResponseEntity<>(userResponse, HttpStatus.CREATED));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/admin/create")
-    public ResponseEntity<UserResponse> registerByAdmin(@RequestBody RegisterUserRequest registerUserRequest) {
-        UserResponse userResponse = userRegisterService.registerUser(registerUserRequest);
-        return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<UserResponse>> registerByAdmin(@RequestBody RegisterUserRequest registerUserRequest) {
+        return userRegisterService.registerUser(registerUserRequest)
+                .thenApply(userResponse -> new ResponseEntity<>(userResponse, HttpStatus.CREATED));
     }
 
 
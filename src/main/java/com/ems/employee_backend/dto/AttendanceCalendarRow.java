@@ -0,0 +1,15 @@
+package com.ems.employee_backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Slim attendance row for the calendar (AttendanceRepository.findCalendarRows);
+ * avoids loading the Attendance/Employee entity graph.
+ */
+public interface AttendanceCalendarRow {
+    Long getId();
+    Long getEmployeeId();
+    String getEmployeeName();
+    LocalDate getDate();
+    String getStatus();
+}
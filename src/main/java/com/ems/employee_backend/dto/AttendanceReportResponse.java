@@ -0,0 +1,22 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class AttendanceReportResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int totalEmployees;
+    private long totalDays;
+    private long presentDays;
+    private long absentDays;
+    private long lateDays;
+    private long halfDays;
+    private double totalHours;
+    private double totalOvertimeHours;
+    private double attendanceRate;
+    private List<EmployeeAttendanceReport> employeeBreakdown;
+}
@@ -2,13 +2,14 @@ package com.ems.employee_backend.dto;
 
 import lombok.Data;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Data
 public class AttendanceRequest {
     private Long employeeId;
     private LocalDate date;
-    private String checkIn;
-    private String checkOut;
+    private LocalTime checkIn;
+    private LocalTime checkOut;
     private String status;
     private String notes;
 }
@@ -3,6 +3,7 @@ package com.ems.employee_backend.dto;
 import lombok.Data;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Data
 public class AttendanceResponse {
@@ -10,8 +11,8 @@ public class AttendanceResponse {
     private Long employeeId;
     private String employeeName;
     private LocalDate date;
-    private String checkIn;
-    private String checkOut;
+    private LocalTime checkIn;
+    private LocalTime checkOut;
     private Integer breakDuration;
     private String status;
     private Double overtimeHours;
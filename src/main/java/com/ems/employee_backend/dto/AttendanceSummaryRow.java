@@ -0,0 +1,16 @@
+package com.ems.employee_backend.dto;
+
+/**
+ * Per-employee attendance totals summed from the monthly and daily rollups
+ * (AttendanceDailyRollupRepository.summarizeByEmployee).
+ */
+public interface AttendanceSummaryRow {
+    Long getEmployeeId();
+    Long getTotalDays();
+    Long getPresentDays();
+    Long getAbsentDays();
+    Long getLateDays();
+    Long getHalfDays();
+    Double getTotalOvertimeHours();
+    Long getWorkedMinutes();
+}
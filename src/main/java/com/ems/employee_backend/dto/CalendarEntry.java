@@ -0,0 +1,8 @@
+package com.ems.employee_backend.dto;
+
+/**
+ * Lightweight reference to a record shown on a calendar day: the record id,
+ * who it belongs to, and its status or leave type.
+ */
+public record CalendarEntry(long id, long employeeId, String employeeName, String label) {
+}
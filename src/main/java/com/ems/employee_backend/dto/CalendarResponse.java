@@ -0,0 +1,151 @@
+package com.ems.employee_backend.dto;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Month calendar with one fixed-size row of counters per day and a list of
+ * lightweight entry references per day. Written field by field through the
+ * JSON generator, so no per-day maps or entity graphs are built or walked.
+ * The JSON keeps the previous shape: days keyed by day of month, each with
+ * date, isWeekend, a named summary and the day's entries; holidays add their
+ * name. Weekend and holiday flags come from BusinessCalendar.markDays.
+ */
+@JsonSerialize(using = CalendarResponse.Writer.class)
+public class CalendarResponse {
+
+    private final LocalDate startDate;
+    private final String[] counterNames;
+    private final String entriesName;
+    private final String labelName;
+    private final String totalName;
+    private final int[] counts;
+    private final List<List<CalendarEntry>> entries;
+    private final boolean[] weekend;
+    private final String[] holidays;
+    private int total;
+
+    /**
+     * @param counterNames summary keys, in the order the counter indexes refer to
+     * @param entriesName  JSON name of each day's entry list ("attendances", "leaves")
+     * @param labelName    JSON name of an entry's label ("status", "leaveType")
+     * @param totalName    JSON name of the record count ("totalAttendances", "totalLeaves")
+     */
+    public CalendarResponse(int year, int month, String[] counterNames,
+                            String entriesName, String labelName, String totalName) {
+        this.startDate = LocalDate.of(year, month, 1);
+        this.counterNames = counterNames;
+        this.entriesName = entriesName;
+        this.labelName = labelName;
+        this.totalName = totalName;
+        int days = startDate.lengthOfMonth();
+        this.counts = new int[days * counterNames.length];
+        this.entries = new ArrayList<>(days);
+        this.weekend = new boolean[days];
+        this.holidays = new String[days];
+        for (int i = 0; i < days; i++) {
+            entries.add(new ArrayList<>());
+            DayOfWeek dayOfWeek = startDate.plusDays(i).getDayOfWeek();
+            weekend[i] = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+        }
+    }
+
+    /** Overrides the Saturday/Sunday default for one day and sets its holiday name (null for none). */
+    public void markDay(int dayOfMonth, boolean isWeekend, String holidayName) {
+        weekend[dayOfMonth - 1] = isWeekend;
+        holidays[dayOfMonth - 1] = holidayName;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return startDate.withDayOfMonth(startDate.lengthOfMonth());
+    }
+
+    /** Index of a summary key, or -1 when the value is not counted. */
+    public int counterIndex(String name) {
+        for (int i = 0; i < counterNames.length; i++) {
+            if (counterNames[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Lists the entry on the given day of month and bumps its counter unless it is -1. */
+    public void add(int dayOfMonth, int counter, CalendarEntry entry) {
+        if (counter >= 0) {
+            counts[(dayOfMonth - 1) * counterNames.length + counter]++;
+        }
+        entries.get(dayOfMonth - 1).add(entry);
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public static class Writer extends ValueSerializer<CalendarResponse> {
+
+        @Override
+        public void serialize(CalendarResponse calendar, JsonGenerator gen, SerializationContext ctxt) {
+            LocalDate start = calendar.startDate;
+            gen.writeStartObject();
+            gen.writeNumberProperty("year", start.getYear());
+            gen.writeNumberProperty("month", start.getMonthValue());
+            gen.writeStringProperty("monthName", start.getMonth().toString());
+            gen.writeStringProperty("startDate", start.toString());
+            gen.writeStringProperty("endDate", calendar.getEndDate().toString());
+            gen.writeNumberProperty(calendar.totalName, calendar.total);
+
+            gen.writeName("days");
+            gen.writeStartObject();
+            int width = calendar.counterNames.length;
+            for (int day = 1; day <= calendar.entries.size(); day++) {
+                LocalDate date = start.withDayOfMonth(day);
+                gen.writeName(Integer.toString(day));
+                gen.writeStartObject();
+                gen.writeStringProperty("date", date.toString());
+                gen.writeBooleanProperty("isWeekend", calendar.weekend[day - 1]);
+                if (calendar.holidays[day - 1] != null) {
+                    gen.writeStringProperty("holiday", calendar.holidays[day - 1]);
+                }
+
+                gen.writeName("summary");
+                gen.writeStartObject();
+                int offset = (day - 1) * width;
+                for (int i = 0; i < width; i++) {
+                    gen.writeNumberProperty(calendar.counterNames[i], calendar.counts[offset + i]);
+                }
+                gen.writeEndObject();
+
+                gen.writeName(calendar.entriesName);
+                gen.writeStartArray();
+                for (CalendarEntry entry : calendar.entries.get(day - 1)) {
+                    gen.writeStartObject();
+                    gen.writeNumberProperty("id", entry.id());
+                    gen.writeNumberProperty("employeeId", entry.employeeId());
+                    gen.writeStringProperty("employeeName", entry.employeeName());
+                    gen.writeStringProperty(calendar.labelName, entry.label());
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class EmployeeAttendanceReport {
+    private Long employeeId;
+    private String employeeName;
+    private long totalDays;
+    private long presentDays;
+    private long absentDays;
+    private long lateDays;
+    private double attendanceRate;
+}
@@ -0,0 +1,15 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class EmployeeAvailability {
+    private Long employeeId;
+    private String employeeName;
+    // One character per day from the range start: P present, L approved leave, A absent,
+    // - weekend or holiday, . no record
+    private String days;
+    private int presentDays;
+    private int leaveDays;
+    private int absentDays;
+}
@@ -0,0 +1,14 @@
+package com.ems.employee_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportError {
+    private int line;
+    private String email;
+    private String message;
+}
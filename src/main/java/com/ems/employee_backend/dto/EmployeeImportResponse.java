@@ -0,0 +1,15 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class EmployeeImportResponse {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private boolean errorsTruncated;
+    private List<EmployeeImportError> errors = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class EmployeeLeaveReport {
+    private Long employeeId;
+    private String employeeName;
+    private int totalRequests;
+    private int approved;
+    private int pending;
+    private int rejected;
+    private int totalDays;
+}
@@ -0,0 +1,12 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class HolidayRequest {
+    private LocalDate date;
+    private String name;
+    private String region;
+}
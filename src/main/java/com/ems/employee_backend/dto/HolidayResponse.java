@@ -0,0 +1,13 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class HolidayResponse {
+    private Long id;
+    private LocalDate date;
+    private String name;
+    private String region;
+}
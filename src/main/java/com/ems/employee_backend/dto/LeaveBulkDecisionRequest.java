@@ -0,0 +1,11 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LeaveBulkDecisionRequest {
+    private Long approvedBy;
+    private List<LeaveDecision> decisions;
+}
@@ -0,0 +1,17 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LeaveBulkDecisionResponse {
+    private int received;
+    private int approved;
+    private int rejected;
+    private int unchanged;
+    private int failed;
+    // One code per decision, in request order: approved, rejected, unchanged, not_found, invalid,
+    // duplicate, insufficient_balance
+    private List<String> outcomes;
+}
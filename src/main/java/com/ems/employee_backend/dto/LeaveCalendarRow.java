@@ -0,0 +1,15 @@
+package com.ems.employee_backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Slim approved-leave row for the calendar (LeaveRequestRepository.findCalendarRows).
+ */
+public interface LeaveCalendarRow {
+    Long getId();
+    Long getEmployeeId();
+    String getEmployeeName();
+    String getLeaveType();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+}
@@ -0,0 +1,10 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class LeaveDecision {
+    private Long id;
+    private String decision; // "approve" or "reject"
+    private String comments;
+}
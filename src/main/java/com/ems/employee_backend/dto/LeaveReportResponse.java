@@ -0,0 +1,13 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LeaveReportResponse {
+    private String startDate;
+    private String endDate;
+    private LeaveReportTotals totals;
+    private List<EmployeeLeaveReport> employeeBreakdown;
+}
@@ -0,0 +1,11 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class LeaveReportTotals {
+    private int totalRequests;
+    private int approved;
+    private int pending;
+    private int rejected;
+}
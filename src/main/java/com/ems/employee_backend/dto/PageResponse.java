@@ -0,0 +1,34 @@
+package com.ems.employee_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with limit {@code pageSize + 1}; the extra row only signals that more exist.
+     */
+    public static <E, T> PageResponse<T> fromRows(List<E> rows, int pageSize,
+                                                 Function<E, String> cursorOf,
+                                                 Function<List<E>, List<T>> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new PageResponse<>(mapper.apply(page), page.size(), hasMore, nextCursor);
+    }
+
+    public static <T> PageResponse<T> unpaged(List<T> items) {
+        return new PageResponse<>(items, items.size(), false, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PunchBatchRequest {
+    private String terminalId;
+    private List<PunchEvent> punches;
+}
@@ -0,0 +1,16 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PunchBatchResponse {
+    private int received;
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    // One code per punch, in request order: created, updated, unchanged, invalid, unknown_employee, archived
+    private List<String> outcomes;
+}
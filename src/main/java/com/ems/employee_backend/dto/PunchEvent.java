@@ -0,0 +1,12 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PunchEvent {
+    private Long employeeId;
+    private LocalDateTime timestamp;
+    private String direction; // "in", "out", or null when the terminal does not know
+}
@@ -0,0 +1,17 @@
+package com.ems.employee_backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class TeamAvailabilityResponse {
+    private Long departmentId;
+    private LocalDate from;
+    private LocalDate to;
+    private int headcount;
+    // Per day from the range start: present (past and today) or planned in and not on leave (future working days)
+    private int[] available;
+    private List<EmployeeAvailability> employees;
+}
@@ -0,0 +1,87 @@
+package com.ems.employee_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Attendance row from a closed month, moved out of the hot attendance table by
+ * AttendanceArchiveService. The table is range-partitioned by month and stored
+ * compressed, so the date is part of the primary key and there is no foreign
+ * key to employees (MySQL allows neither on partitioned tables otherwise).
+ * Rows keep their original id and are never modified.
+ */
+@Entity
+@Immutable
+@IdClass(ArchivedAttendance.Key.class)
+@Table(name = "attendance_archive", indexes = {
+        @Index(name = "idx_attendance_archive_employee_date", columnList = "employee_id, date")
+})
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAttendance {
+
+    @Id
+    private LocalDate date;
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Employee employee;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "check_in_time")
+    private LocalTime checkIn;
+
+    @Column(name = "check_out_time")
+    private LocalTime checkOut;
+
+    private Integer breakDuration;
+    private String status;
+    private Double overtimeHours;
+    private String notes;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Detached copy in the hot-table shape, so callers map both through one converter
+    public Attendance toAttendance() {
+        return Attendance.builder()
+                .id(id)
+                .employee(employee)
+                .date(date)
+                .departmentId(departmentId)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .breakDuration(breakDuration)
+                .status(status)
+                .overtimeHours(overtimeHours)
+                .notes(notes)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate date;
+        private Long id;
+    }
+}
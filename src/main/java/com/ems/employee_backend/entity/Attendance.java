@@ -5,9 +5,14 @@ import lombok.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", indexes = {
+        @Index(name = "idx_attendance_date_id", columnList = "date, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_employee_date", columnNames = {"employee_id", "date"})
+})
 @Builder
 @Getter
 @Setter
@@ -24,8 +29,19 @@ public class Attendance {
     private Employee employee;
     
     private LocalDate date;
-    private String checkIn;
-    private String checkOut;
+
+    // Department the row counts towards in the monthly rollups, fixed when the row is written so a
+    // later department move does not shift old rows; defaults to the employee's department
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    // Stored as TIME; AttendanceTimeColumnMigration copies the old varchar check_in/check_out values here
+    @Column(name = "check_in_time")
+    private LocalTime checkIn;
+
+    @Column(name = "check_out_time")
+    private LocalTime checkOut;
+
     private Integer breakDuration;
     private String status; // present, absent, late, half_day, leave, overtime
     private Double overtimeHours;
@@ -42,6 +58,9 @@ public class Attendance {
         if (date == null) {
             date = LocalDate.now();
         }
+        if (departmentId == null && employee != null) {
+            departmentId = employee.getDepartmentId();
+        }
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
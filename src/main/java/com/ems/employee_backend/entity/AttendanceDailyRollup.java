@@ -0,0 +1,51 @@
+package com.ems.employee_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "attendance_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_daily_rollup", columnNames = {"employee_id", "date"})
+}, indexes = {
+        @Index(name = "idx_attendance_daily_rollup_date", columnList = "date, employee_id")
+})
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "total_records", nullable = false)
+    private Long totalRecords;
+
+    @Column(name = "present_days", nullable = false)
+    private Long presentDays;
+
+    @Column(name = "absent_days", nullable = false)
+    private Long absentDays;
+
+    @Column(name = "late_days", nullable = false)
+    private Long lateDays;
+
+    @Column(name = "half_days", nullable = false)
+    private Long halfDays;
+
+    @Column(name = "overtime_hours", nullable = false)
+    private Double overtimeHours;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private Long workedMinutes;
+}
@@ -0,0 +1,52 @@
+package com.ems.employee_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "attendance_employee_monthly_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_employee_monthly_rollup", columnNames = {"employee_id", "month"})
+}, indexes = {
+        @Index(name = "idx_attendance_employee_monthly_rollup_month", columnList = "month, employee_id")
+})
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceEmployeeMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // First day of the month
+    @Column(nullable = false)
+    private LocalDate month;
+
+    @Column(name = "total_records", nullable = false)
+    private Long totalRecords;
+
+    @Column(name = "present_days", nullable = false)
+    private Long presentDays;
+
+    @Column(name = "absent_days", nullable = false)
+    private Long absentDays;
+
+    @Column(name = "late_days", nullable = false)
+    private Long lateDays;
+
+    @Column(name = "half_days", nullable = false)
+    private Long halfDays;
+
+    @Column(name = "overtime_hours", nullable = false)
+    private Double overtimeHours;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private Long workedMinutes;
+}
@@ -29,7 +29,9 @@ public class Department {
 
     private Double budget;
 
-    @Transient
+    // Headcount maintained by EmployeeService; DepartmentHeadcountReconciler corrects drift.
+    // Only the repository's UPDATE statements write it, never an entity save
+    @Column(name = "employees", updatable = false)
     private Long employees;
 
     @Column(name = "created_at")
@@ -40,6 +42,9 @@ public class Department {
 
     @PrePersist
     protected void onCreate(){
+        if (employees == null) {
+            employees = 0L;
+        }
         this.createdDate=LocalDateTime.now();
         this.lastUpdatedDate=LocalDateTime.now();
     }
@@ -9,7 +9,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_department_id", columnList = "department_id"),
+        @Index(name = "idx_employees_status", columnList = "status")
+})
 @Builder
 @Getter
 @Setter
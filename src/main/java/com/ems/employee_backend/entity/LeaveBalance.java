@@ -0,0 +1,57 @@
+package com.ems.employee_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running leave balance per employee, year and leave type, kept in step with
+ * the leave_ledger_entries that LeaveBalanceService appends.
+ */
+@Entity
+@Table(name = "leave_balances", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_leave_balance", columnNames = {"employee_id", "balance_year", "leave_type"})
+})
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "balance_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "leave_type", nullable = false)
+    private String leaveType;
+
+    @Column(name = "accrued_days", nullable = false)
+    private Integer accruedDays;
+
+    @Column(name = "carried_over_days", nullable = false)
+    private Integer carriedOverDays;
+
+    @Column(name = "used_days", nullable = false)
+    private Integer usedDays;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public int getRemainingDays() {
+        return accruedDays + carriedOverDays - usedDays;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ems.employee_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only movement on a leave balance: yearly accrual, carry-over from the
+ * previous year, usage when leave is approved and its reversal when approved
+ * leave is rejected or deleted. Days are signed as they apply to the balance.
+ */
+@Entity
+@Table(name = "leave_ledger_entries", indexes = {
+        @Index(name = "idx_leave_ledger_employee_year", columnList = "employee_id, balance_year")
+})
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "balance_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "leave_type", nullable = false)
+    private String leaveType;
+
+    @Column(name = "entry_type", nullable = false)
+    private String entryType; // accrual, carry_over, usage, usage_reversal
+
+    @Column(nullable = false)
+    private Integer days;
+
+    @Column(name = "leave_request_id")
+    private Long leaveRequestId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -7,7 +7,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        @Index(name = "idx_leave_requests_employee_end", columnList = "employee_id, end_date"),
+        @Index(name = "idx_leave_requests_status_start", columnList = "status, start_date")
+})
 @Builder
 @Getter
 @Setter
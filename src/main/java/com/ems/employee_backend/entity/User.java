@@ -36,6 +36,10 @@ public class User implements UserDetails {
     private String firstName;
     private String lastName;
     private String phone;
+
+    // Bumped whenever the password changes so tokens issued earlier stop being honoured
+    @Column(name = "credentials_version")
+    private Integer credentialsVersion;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -45,6 +49,9 @@ public class User implements UserDetails {
 
     @PrePersist
     protected void onCreate() {
+        if (credentialsVersion == null) {
+            credentialsVersion = 0;
+        }
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
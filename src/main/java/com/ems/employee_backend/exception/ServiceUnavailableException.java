@@ -0,0 +1,24 @@
+package com.ems.employee_backend.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    // Sent back as the Retry-After header
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message) {
+        this(message, null, 1);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        this(message, cause, 1);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause, long retryAfterSeconds) {
+        super(message, cause);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ems.employee_backend.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    // Sent back as the Retry-After header
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message) {
+        this(message, 1);
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ems.employee_backend.repository;
+
+import com.ems.employee_backend.dto.AttendanceCalendarRow;
+import com.ems.employee_backend.entity.ArchivedAttendance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Read side of the attendance archive; rows only arrive through AttendanceArchiveService
+@Repository
+public interface ArchivedAttendanceRepository extends JpaRepository<ArchivedAttendance, ArchivedAttendance.Key> {
+
+    Optional<ArchivedAttendance> findFirstById(Long id);
+
+    @Query("SELECT a FROM ArchivedAttendance a JOIN FETCH a.employee WHERE a.employee.id = :employeeId ORDER BY a.date")
+    List<ArchivedAttendance> findByEmployeeId(@Param("employeeId") Long employeeId);
+
+    // A date range prunes to the matching month partitions
+    @Query("SELECT a FROM ArchivedAttendance a JOIN FETCH a.employee WHERE a.date BETWEEN :startDate AND :endDate")
+    List<ArchivedAttendance> findByDateBetween(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT a.id AS id, e.id AS employeeId, CONCAT(e.firstName, ' ', e.lastName) AS employeeName, " +
+           "a.date AS date, a.status AS status FROM ArchivedAttendance a JOIN a.employee e " +
+           "WHERE a.date BETWEEN :startDate AND :endDate AND (:employeeId IS NULL OR e.id = :employeeId) " +
+           "ORDER BY a.date, e.id")
+    List<AttendanceCalendarRow> findCalendarRows(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate,
+                                                 @Param("employeeId") Long employeeId);
+
+    @Query("SELECT a.employee.id, a.date, a.status FROM ArchivedAttendance a " +
+           "WHERE a.employee.departmentId = :departmentId AND a.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findStatusesByDepartment(@Param("departmentId") Long departmentId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    // Keyset pages, newest first on (date, id); continues AttendanceRepository's pages past the hot table
+    @Query("SELECT a FROM ArchivedAttendance a JOIN FETCH a.employee ORDER BY a.date DESC, a.id DESC")
+    List<ArchivedAttendance> findLatestPage(Pageable pageable);
+
+    @Query("SELECT a FROM ArchivedAttendance a JOIN FETCH a.employee " +
+           "WHERE a.date < :date OR (a.date = :date AND a.id < :id) " +
+           "ORDER BY a.date DESC, a.id DESC")
+    List<ArchivedAttendance> findPageBefore(@Param("date") LocalDate date,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+}
@@ -0,0 +1,49 @@
+package com.ems.employee_backend.repository;
+
+import com.ems.employee_backend.dto.AttendanceSummaryRow;
+import com.ems.employee_backend.entity.AttendanceDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AttendanceDailyRollupRepository extends JpaRepository<AttendanceDailyRollup, Long> {
+
+    /**
+     * Per-employee totals: whole months [fromMonth, toMonth] from the per-employee
+     * monthly rollups plus the days of [headStart, headEnd] and [tailStart, tailEnd]
+     * from the daily rollups (an empty span has its start after its end).
+     * employeeId null means every employee. Callers go through
+     * AttendanceService.summarize, which splits a date range this way.
+     */
+    @Query(value = "SELECT r.employee_id AS employeeId, SUM(r.total_records) AS totalDays, " +
+           "SUM(r.present_days) AS presentDays, SUM(r.absent_days) AS absentDays, " +
+           "SUM(r.late_days) AS lateDays, SUM(r.half_days) AS halfDays, " +
+           "SUM(r.overtime_hours) AS totalOvertimeHours, SUM(r.worked_minutes) AS workedMinutes FROM (" +
+           "SELECT employee_id, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes " +
+           "FROM attendance_employee_monthly_rollups WHERE month BETWEEN :fromMonth AND :toMonth " +
+           "AND (:employeeId IS NULL OR employee_id = :employeeId) " +
+           "UNION ALL " +
+           "SELECT employee_id, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes " +
+           "FROM attendance_daily_rollups WHERE (date BETWEEN :headStart AND :headEnd OR date BETWEEN :tailStart AND :tailEnd) " +
+           "AND (:employeeId IS NULL OR employee_id = :employeeId)" +
+           ") r GROUP BY r.employee_id HAVING SUM(r.total_records) > 0 ORDER BY r.employee_id", nativeQuery = true)
+    List<AttendanceSummaryRow> summarizeByEmployee(@Param("fromMonth") LocalDate fromMonth,
+                                                   @Param("toMonth") LocalDate toMonth,
+                                                   @Param("headStart") LocalDate headStart,
+                                                   @Param("headEnd") LocalDate headEnd,
+                                                   @Param("tailStart") LocalDate tailStart,
+                                                   @Param("tailEnd") LocalDate tailEnd,
+                                                   @Param("employeeId") Long employeeId);
+
+    // First and last day with attendance, bounding an all-time summary; employeeId null means every employee
+    @Query("SELECT MIN(r.date) FROM AttendanceDailyRollup r WHERE :employeeId IS NULL OR r.employeeId = :employeeId")
+    LocalDate findFirstDate(@Param("employeeId") Long employeeId);
+
+    @Query("SELECT MAX(r.date) FROM AttendanceDailyRollup r WHERE :employeeId IS NULL OR r.employeeId = :employeeId")
+    LocalDate findLastDate(@Param("employeeId") Long employeeId);
+}
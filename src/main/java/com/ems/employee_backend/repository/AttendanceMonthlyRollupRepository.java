@@ -0,0 +1,14 @@
+package com.ems.employee_backend.repository;
+
+import com.ems.employee_backend.entity.AttendanceMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AttendanceMonthlyRollupRepository extends JpaRepository<AttendanceMonthlyRollup, Long> {
+
+    List<AttendanceMonthlyRollup> findByMonthOrderByDepartmentIdAsc(LocalDate month);
+}
@@ -1,13 +1,17 @@
 package com.ems.employee_backend.repository;
 
+import com.ems.employee_backend.dto.AttendanceCalendarRow;
 import com.ems.employee_backend.entity.Attendance;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
@@ -21,4 +25,36 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
                                                    @Param("endDate") LocalDate endDate);
     
     List<Attendance> findByStatus(String status);
+
+    // Calendar rows without the entity graph; employeeId null means everyone
+    @Query("SELECT a.id AS id, e.id AS employeeId, CONCAT(e.firstName, ' ', e.lastName) AS employeeName, " +
+           "a.date AS date, a.status AS status FROM Attendance a JOIN a.employee e " +
+           "WHERE a.date BETWEEN :startDate AND :endDate AND (:employeeId IS NULL OR e.id = :employeeId) " +
+           "ORDER BY a.date, e.id")
+    List<AttendanceCalendarRow> findCalendarRows(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate,
+                                                 @Param("employeeId") Long employeeId);
+
+    // employeeId, date, status of a department's attendance in the range
+    @Query("SELECT a.employee.id, a.date, a.status FROM Attendance a " +
+           "WHERE a.employee.departmentId = :departmentId AND a.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findStatusesByDepartment(@Param("departmentId") Long departmentId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    // At most one row per employee per day (uk_attendance_employee_date)
+    Optional<Attendance> findByEmployeeIdAndDate(Long employeeId, LocalDate date);
+
+    List<Attendance> findByDateAndEmployeeIdIn(LocalDate date, Collection<Long> employeeIds);
+
+    // Keyset pages, newest first on (date, id)
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee ORDER BY a.date DESC, a.id DESC")
+    List<Attendance> findLatestPage(Pageable pageable);
+
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee " +
+           "WHERE a.date < :date OR (a.date = :date AND a.id < :id) " +
+           "ORDER BY a.date DESC, a.id DESC")
+    List<Attendance> findPageBefore(@Param("date") LocalDate date,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
 }
@@ -2,10 +2,26 @@ package com.ems.employee_backend.repository;
 
 import com.ems.employee_backend.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     
     boolean existsByName(String name);
+
+    // Callers must run inside a transaction so the counter moves with the employee write
+    @Modifying
+    @Query("UPDATE Department d SET d.employees = COALESCE(d.employees, 0) + :delta WHERE d.id = :id")
+    int adjustEmployees(@Param("id") Long id, @Param("delta") long delta);
+
+    // Recounts every drifted headcount in the database itself, so no node writes back a stale snapshot
+    @Modifying
+    @Query(value = "UPDATE departments d LEFT JOIN (SELECT department_id, COUNT(*) AS actual FROM employees " +
+            "WHERE department_id IS NOT NULL GROUP BY department_id) c ON c.department_id = d.id " +
+            "SET d.employees = COALESCE(c.actual, 0) " +
+            "WHERE d.employees IS NULL OR d.employees <> COALESCE(c.actual, 0)", nativeQuery = true)
+    int recountEmployees();
 }
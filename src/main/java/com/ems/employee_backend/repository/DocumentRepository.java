@@ -1,6 +1,7 @@
 package com.ems.employee_backend.repository;
 
 import com.ems.employee_backend.entity.Document;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,4 +26,7 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     
     @Query("SELECT d FROM Document d WHERE d.employee.id = :employeeId AND d.category = :category")
     List<Document> findByEmployeeAndCategory(@Param("employeeId") Long employeeId, @Param("category") String category);
+
+    // Keyset page: rows after the given id in id order
+    List<Document> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
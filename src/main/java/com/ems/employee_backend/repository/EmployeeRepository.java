@@ -1,18 +1,25 @@
 package com.ems.employee_backend.repository;
 
 import com.ems.employee_backend.entity.Employee;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
     Long countByDepartmentId(Long departmentId);
-    
+
+    long countByStatus(String status);
+
     List<Employee> findByDepartmentId(Long departmentId); 
     
     @Query("SELECT e FROM Employee e WHERE " +
@@ -27,4 +34,25 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByDepartmentName(@Param("department") String department);
     
     List<Employee> findByStatus(String status);
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    // id -> departmentId for the employees that exist among the given ids
+    @Query("SELECT e.id, e.departmentId FROM Employee e WHERE e.id IN :ids")
+    List<Object[]> findDepartmentIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset page: rows after the given id in id order
+    // id, firstName, lastName of a department's employees, for the availability matrix
+    @Query("SELECT e.id, e.firstName, e.lastName FROM Employee e WHERE e.departmentId = :departmentId ORDER BY e.id")
+    List<Object[]> findNamesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Row lock that serializes per-employee writes across nodes, e.g. the leave overlap check
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findByIdForUpdate(@Param("id") Long id);
 }
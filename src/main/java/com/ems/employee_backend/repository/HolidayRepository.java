@@ -0,0 +1,23 @@
+package com.ems.employee_backend.repository;
+
+import com.ems.employee_backend.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    // Holidays for one region plus the ones that apply everywhere
+    @Query("SELECT h FROM Holiday h WHERE h.date BETWEEN :startDate AND :endDate " +
+           "AND (h.region IS NULL OR h.region = :region) ORDER BY h.date")
+    List<Holiday> findForRegion(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate,
+                                @Param("region") String region);
+
+    boolean existsByDateAndRegion(LocalDate date, String region);
+}
@@ -0,0 +1,43 @@
+package com.ems.employee_backend.repository;
+
+import com.ems.employee_backend.entity.LeaveBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+
+    // Served by uk_leave_balance
+    List<LeaveBalance> findByEmployeeIdAndYear(Long employeeId, Integer year);
+
+    // Row lock so concurrent approvals for the same balance are checked one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM LeaveBalance b WHERE b.employeeId = :employeeId AND b.year = :year AND b.leaveType = :leaveType")
+    Optional<LeaveBalance> findForUpdate(@Param("employeeId") Long employeeId,
+                                         @Param("year") Integer year,
+                                         @Param("leaveType") String leaveType);
+
+    // Opens one balance unless uk_leave_balance already holds it; returns 0 when a concurrent opener got there
+    // first. INSERT IGNORE rather than ON DUPLICATE KEY UPDATE id = id, which Connector/J reports as 1 found row
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO leave_balances " +
+                   "(employee_id, balance_year, leave_type, accrued_days, carried_over_days, used_days, updated_at) " +
+                   "VALUES (:employeeId, :year, :leaveType, :accruedDays, :carriedOverDays, 0, NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("employeeId") Long employeeId,
+                       @Param("year") Integer year,
+                       @Param("leaveType") String leaveType,
+                       @Param("accruedDays") Integer accruedDays,
+                       @Param("carriedOverDays") Integer carriedOverDays);
+
+    @Modifying
+    @Query("DELETE FROM LeaveBalance")
+    int deleteAllRows();
+}
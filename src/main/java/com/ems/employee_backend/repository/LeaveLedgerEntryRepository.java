@@ -0,0 +1,20 @@
+package com.ems.employee_backend.repository;
+
+import com.ems.employee_backend.entity.LeaveLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LeaveLedgerEntryRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    // Net days a leave request has moved so far (negative while its usage stands)
+    @Query("SELECT COALESCE(SUM(e.days), 0) FROM LeaveLedgerEntry e WHERE e.leaveRequestId = :leaveRequestId")
+    long sumDaysByLeaveRequestId(@Param("leaveRequestId") Long leaveRequestId);
+
+    @Modifying
+    @Query("DELETE FROM LeaveLedgerEntry")
+    int deleteAllRows();
+}
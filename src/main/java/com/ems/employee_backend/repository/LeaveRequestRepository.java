@@ -1,6 +1,8 @@
 package com.ems.employee_backend.repository;
 
+import com.ems.employee_backend.dto.LeaveCalendarRow;
 import com.ems.employee_backend.entity.LeaveRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,4 +31,48 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     List<LeaveRequest> findLeaveRequestsByEmployeeAndDateRange(@Param("employeeId") Long employeeId,
                                                                @Param("startDate") LocalDate startDate,
                                                                @Param("endDate") LocalDate endDate);
+
+    // Approved leaves overlapping the range, as slim calendar rows; employeeId null means everyone
+    @Query("SELECT lr.id AS id, e.id AS employeeId, CONCAT(e.firstName, ' ', e.lastName) AS employeeName, " +
+           "lr.leaveType AS leaveType, lr.startDate AS startDate, lr.endDate AS endDate " +
+           "FROM LeaveRequest lr JOIN lr.employee e " +
+           "WHERE lr.status = 'approved' AND lr.startDate <= :endDate AND lr.endDate >= :startDate " +
+           "AND (:employeeId IS NULL OR e.id = :employeeId) ORDER BY lr.startDate, e.id")
+    List<LeaveCalendarRow> findCalendarRows(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate,
+                                            @Param("employeeId") Long employeeId);
+
+    // employeeId, startDate, endDate of a department's approved leave overlapping the range
+    @Query("SELECT lr.employee.id, lr.startDate, lr.endDate FROM LeaveRequest lr " +
+           "WHERE lr.status = 'approved' AND lr.employee.departmentId = :departmentId " +
+           "AND lr.startDate <= :endDate AND lr.endDate >= :startDate")
+    List<Object[]> findApprovedSpansByDepartment(@Param("departmentId") Long departmentId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    // Pending or approved leave of one employee sharing a day with [from, to]; callers pass a
+    // one-row page, so this is an existence check that also names the first clash
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.id = :employeeId " +
+           "AND LOWER(lr.status) IN ('pending', 'approved') AND lr.startDate <= :to AND lr.endDate >= :from " +
+           "ORDER BY lr.startDate")
+    List<LeaveRequest> findActiveOverlapping(@Param("employeeId") Long employeeId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to,
+                                             Pageable pageable);
+
+    // Every approved request with its employee, for LeaveBalanceService.rebuild
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee LEFT JOIN FETCH lr.approvedBy " +
+           "WHERE lr.status = 'approved' ORDER BY lr.startDate, lr.id")
+    List<LeaveRequest> findApprovedForLedger();
+
+    // Report rows with the employee fetched up front; employeeId null means everyone
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee " +
+           "WHERE lr.startDate BETWEEN :startDate AND :endDate " +
+           "AND (:employeeId IS NULL OR lr.employee.id = :employeeId)")
+    List<LeaveRequest> findForReport(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate,
+                                     @Param("employeeId") Long employeeId);
+
+    // Keyset page: rows after the given id in id order
+    List<LeaveRequest> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
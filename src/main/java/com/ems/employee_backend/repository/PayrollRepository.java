@@ -1,6 +1,7 @@
 package com.ems.employee_backend.repository;
 
 import com.ems.employee_backend.entity.Payroll;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,4 +24,7 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
     
     @Query("SELECT p FROM Payroll p WHERE p.status = :status ORDER BY p.payPeriodStart DESC")
     List<Payroll> findByStatusOrderByPayPeriodDesc(@Param("status") String status);
+
+    // Keyset page: rows after the given id in id order
+    List<Payroll> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.ems.employee_backend.repository;
 
 import com.ems.employee_backend.entity.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,4 +29,7 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     @Query("SELECT t FROM Task t WHERE t.priority = :priority AND t.status != 'completed' ORDER BY t.dueDate ASC")
     List<Task> findIncompleteTasksByPriority(@Param("priority") String priority);
+
+    // Keyset page: rows after the given id in id order
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
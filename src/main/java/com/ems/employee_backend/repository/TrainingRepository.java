@@ -1,6 +1,7 @@
 package com.ems.employee_backend.repository;
 
 import com.ems.employee_backend.entity.Training;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,4 +29,7 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
     
     @Query("SELECT t FROM Training t WHERE t.maxParticipants > t.currentParticipants")
     List<Training> findAvailableTrainings();
+
+    // Keyset page: rows after the given id in id order
+    List<Training> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
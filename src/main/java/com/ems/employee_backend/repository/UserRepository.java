@@ -1,14 +1,33 @@
 package com.ems.employee_backend.repository;
 import com.ems.employee_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
    Optional<User> findByUsername(String username);
    Optional<User> findByEmail(String email);
+
+   @Query("SELECT COALESCE(u.credentialsVersion, 0) FROM User u WHERE u.username = :username")
+   Optional<Integer> findCredentialsVersionByUsername(@Param("username") String username);
+
+   // Sets the new hash and bumps the version only while the verified hash is still current; 0 rows means it changed meanwhile
+   @Modifying
+   @Transactional
+   @Query("UPDATE User u SET u.password = :encoded, u.credentialsVersion = COALESCE(u.credentialsVersion, 0) + 1, " +
+          "u.updatedAt = :now WHERE u.username = :username AND u.password = :expected")
+   int replacePassword(@Param("username") String username,
+                       @Param("expected") String expected,
+                       @Param("encoded") String encoded,
+                       @Param("now") LocalDateTime now);
+
    boolean existsByUsername(String username);
    boolean existsByEmail(String email);
 }
@@ -0,0 +1,194 @@
+package com.ems.employee_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves closed months out of the hot attendance table into attendance_archive,
+ * a compressed table range-partitioned by month, so the hot table only holds
+ * the current month plus {@code attendance.archive.retention-months} closed
+ * ones. Rows are copied and deleted in id-ordered batches, each in its own
+ * transaction. The rollup tables are left alone: they already count archived
+ * rows, so reports are unaffected.
+ *
+ * <p>Dates before {@link #hotFrom()} belong to closed months, which are
+ * read-only; AttendanceService reads those from both tables.
+ *
+ * <p>Every node runs the startup conversion and the monthly job, so the DDL
+ * here tolerates another node having already applied the same change.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceArchiveService.class);
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String COLUMNS = "id, employee_id, department_id, date, check_in_time, check_out_time, break_duration, " +
+            "status, overtime_hours, notes, created_at, updated_at";
+
+    private static final String COPY_SQL = "INSERT INTO attendance_archive (" + COLUMNS + ") SELECT " + COLUMNS +
+            " FROM attendance WHERE date >= ? AND date < ? AND id <= ?";
+
+    private static final String DELETE_SQL = "DELETE FROM attendance WHERE date >= ? AND date < ? AND id <= ?";
+
+    private static final String PARTITIONS_SQL = "SELECT partition_name FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = 'attendance_archive' AND partition_name IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${attendance.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${attendance.archive.retention-months:3}")
+    private int retentionMonths;
+
+    @Value("${attendance.archive.batch-size:10000}")
+    private int batchSize;
+
+    /** First day that is still writable and kept in the hot table; earlier months are closed. */
+    public LocalDate hotFrom() {
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1);
+    }
+
+    public void ensureWritable(LocalDate date) {
+        if (enabled && date != null && date.isBefore(hotFrom())) {
+            throw new RuntimeException("Attendance for " + YearMonth.from(date) + " is archived and can no longer be changed");
+        }
+    }
+
+    // Hibernate creates the table unpartitioned; convert it once archiving is switched on
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitioned() {
+        if (enabled) {
+            partition();
+        }
+    }
+
+    @Scheduled(cron = "${attendance.archive.cron:0 0 2 1 * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveClosedMonths();
+        }
+    }
+
+    // Oldest month first, so each new partition is appended after the existing ones
+    public Map<String, Object> archiveClosedMonths() {
+        long start = System.currentTimeMillis();
+        partition();
+        LocalDate cutoff = hotFrom();
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT MIN(date) FROM attendance WHERE date < ?",
+                LocalDate.class, cutoff);
+
+        int months = 0;
+        long rows = 0;
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest); month.atDay(1).isBefore(cutoff); month = month.plusMonths(1)) {
+                long moved = archiveMonth(month);
+                if (moved > 0) {
+                    months++;
+                    rows += moved;
+                }
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        if (rows > 0) {
+            logger.info("Archived {} attendance rows from {} month(s) in {} ms", rows, months, elapsed);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("archivedBefore", cutoff);
+        result.put("months", months);
+        result.put("rows", rows);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    private long archiveMonth(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        addPartition(month);
+
+        long moved = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM attendance WHERE date >= ? AND date < ? ORDER BY id LIMIT ?",
+                    Long.class, from, to, batchSize);
+            if (ids.isEmpty()) {
+                return moved;
+            }
+            long lastId = ids.get(ids.size() - 1);
+            Integer batch = transactionTemplate.execute(status -> {
+                int copied = jdbcTemplate.update(COPY_SQL, from, to, lastId);
+                int deleted = jdbcTemplate.update(DELETE_SQL, from, to, lastId);
+                if (copied != deleted) {
+                    throw new IllegalStateException("Archived " + copied + " attendance rows but removed " + deleted);
+                }
+                return deleted;
+            });
+            moved += batch != null ? batch : 0;
+        }
+    }
+
+    // Splits the month off the catch-all partition; older months already fall into an existing partition
+    private void addPartition(YearMonth month) {
+        String name = PARTITION_NAME.format(month.atDay(1));
+        String latest = partitionNames().stream()
+                .filter(partition -> !partition.equals("p_future"))
+                .max(String::compareTo)
+                .orElse("");
+        if (name.compareTo(latest) <= 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("ALTER TABLE attendance_archive REORGANIZE PARTITION p_future INTO (" +
+                    "PARTITION " + name + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "'), " +
+                    "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+        } catch (DataAccessException e) {
+            if (!partitionNames().contains(name)) {
+                throw e;
+            }
+            logger.info("Partition {} of attendance_archive was added by another node", name);
+        }
+    }
+
+    private void partition() {
+        if (!partitionNames().isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("ALTER TABLE attendance_archive ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8");
+            jdbcTemplate.execute("ALTER TABLE attendance_archive PARTITION BY RANGE COLUMNS(date) " +
+                    "(PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+            logger.info("Partitioned attendance_archive by month");
+        } catch (DataAccessException e) {
+            // Another node converted it first; the table is usable either way
+            if (partitionNames().isEmpty()) {
+                throw e;
+            }
+            logger.info("attendance_archive was partitioned by another node");
+        }
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+    }
+}
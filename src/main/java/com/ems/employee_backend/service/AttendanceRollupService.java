@@ -0,0 +1,244 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.Attendance;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the attendance rollup tables: per employee per day, per employee
+ * per month and per department per month. AttendanceService applies each
+ * write as a delta in the same transaction, so the report endpoints read
+ * rollup rows instead of scanning attendance: whole months of a range come
+ * from the per-employee monthly rows and only the partial months at either
+ * end from the daily rows. {@link #rebuild()} recomputes all three tables from
+ * scratch for backfill or after bulk changes made outside the service.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceRollupService.class);
+
+    private static final String UPSERT_DAILY_SQL = "INSERT INTO attendance_daily_rollups " +
+            "(employee_id, date, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " + onDuplicateKeyAdd();
+
+    private static final String UPSERT_EMPLOYEE_MONTHLY_SQL = "INSERT INTO attendance_employee_monthly_rollups " +
+            "(employee_id, month, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " + onDuplicateKeyAdd();
+
+    private static final String UPSERT_MONTHLY_SQL = "INSERT INTO attendance_monthly_rollups " +
+            "(department_id, month, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " + onDuplicateKeyAdd();
+
+    // Same per-row rules as Contribution.of: status counts, overtime, whole minutes between check-in and check-out
+    private static final String AGGREGATES_SQL = "COUNT(*), " +
+            "SUM(CASE WHEN a.status = 'Present' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'Absent' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'Late' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'Half-day' THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(a.overtime_hours), 0), " +
+            "COALESCE(SUM(GREATEST(0, TIME_TO_SEC(a.check_out_time) - TIME_TO_SEC(a.check_in_time)) DIV 60), 0) ";
+
+    // Archived closed months still count towards the rollups
+    private static final String ALL_ATTENDANCE_SQL = "(SELECT employee_id, department_id, date, status, overtime_hours, check_in_time, check_out_time FROM attendance " +
+            "UNION ALL SELECT employee_id, department_id, date, status, overtime_hours, check_in_time, check_out_time FROM attendance_archive) a ";
+
+    private static final String REBUILD_DAILY_SQL = "INSERT INTO attendance_daily_rollups " +
+            "(employee_id, date, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes) " +
+            "SELECT a.employee_id, a.date, " + AGGREGATES_SQL +
+            "FROM " + ALL_ATTENDANCE_SQL + "GROUP BY a.employee_id, a.date";
+
+    private static final String REBUILD_EMPLOYEE_MONTHLY_SQL = "INSERT INTO attendance_employee_monthly_rollups " +
+            "(employee_id, month, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes) " +
+            "SELECT a.employee_id, DATE_FORMAT(a.date, '%Y-%m-01'), " + AGGREGATES_SQL +
+            "FROM " + ALL_ATTENDANCE_SQL + "GROUP BY a.employee_id, DATE_FORMAT(a.date, '%Y-%m-01')";
+
+    private static final String REBUILD_MONTHLY_SQL = "INSERT INTO attendance_monthly_rollups " +
+            "(department_id, month, total_records, present_days, absent_days, late_days, half_days, overtime_hours, worked_minutes) " +
+            "SELECT COALESCE(a.department_id, e.department_id, 0), DATE_FORMAT(a.date, '%Y-%m-01'), " + AGGREGATES_SQL +
+            "FROM " + ALL_ATTENDANCE_SQL + "JOIN employees e ON e.id = a.employee_id " +
+            "GROUP BY COALESCE(a.department_id, e.department_id, 0), DATE_FORMAT(a.date, '%Y-%m-01')";
+
+    // Rows written before attendance carried its department take the employee's department at backfill time,
+    // which is what the existing monthly rollups were built from
+    private static final String BACKFILL_DEPARTMENT_SQL = "UPDATE %s a JOIN employees e ON e.id = a.employee_id " +
+            "SET a.department_id = e.department_id WHERE a.department_id IS NULL AND e.department_id IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One attendance row's share of the rollups, captured before a change so
+     * the old values can be subtracted after the entity has been modified.
+     */
+    public record Contribution(Long employeeId, Long departmentId, LocalDate date, String status,
+                               double overtimeHours, long workedMinutes) {
+
+        // Attributed to the department stored on the row, not the employee's current one
+        public static Contribution of(Attendance attendance) {
+            return new Contribution(attendance.getEmployee().getId(),
+                    attendance.getDepartmentId() != null ? attendance.getDepartmentId() : attendance.getEmployee().getDepartmentId(),
+                    attendance.getDate(),
+                    attendance.getStatus(),
+                    attendance.getOvertimeHours() != null ? attendance.getOvertimeHours() : 0.0,
+                    workedMinutes(attendance.getCheckIn(), attendance.getCheckOut()));
+        }
+    }
+
+    public void add(Contribution contribution) {
+        apply(List.of(contribution), 1);
+    }
+
+    /**
+     * Adds many contributions with one batched upsert per table; rows sharing a
+     * rollup key are merged first.
+     */
+    public void addAll(Collection<Contribution> contributions) {
+        apply(contributions, 1);
+    }
+
+    public void remove(Contribution contribution) {
+        apply(List.of(contribution), -1);
+    }
+
+    public void removeAll(Collection<Contribution> contributions) {
+        apply(contributions, -1);
+    }
+
+    public void replace(Contribution previous, Contribution current) {
+        if (!previous.equals(current)) {
+            remove(previous);
+            add(current);
+        }
+    }
+
+    // Backfill on first start after the rollup tables (or attendance.department_id) were introduced
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        int backfilled = jdbcTemplate.update(String.format(BACKFILL_DEPARTMENT_SQL, "attendance"))
+                + jdbcTemplate.update(String.format(BACKFILL_DEPARTMENT_SQL, "attendance_archive"));
+        if (backfilled > 0) {
+            logger.info("Recorded the department on {} existing attendance rows", backfilled);
+        }
+
+        Long rollups = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_daily_rollups", Long.class);
+        Long employeeMonthly = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_employee_monthly_rollups", Long.class);
+        Long attendance = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance", Long.class);
+        boolean missing = (rollups != null && rollups == 0) || (employeeMonthly != null && employeeMonthly == 0);
+        if (missing && attendance != null && attendance > 0) {
+            rebuild();
+        }
+    }
+
+    @Transactional
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM attendance_daily_rollups");
+        jdbcTemplate.update("DELETE FROM attendance_employee_monthly_rollups");
+        jdbcTemplate.update("DELETE FROM attendance_monthly_rollups");
+        int dailyRows = jdbcTemplate.update(REBUILD_DAILY_SQL);
+        int employeeMonthlyRows = jdbcTemplate.update(REBUILD_EMPLOYEE_MONTHLY_SQL);
+        int monthlyRows = jdbcTemplate.update(REBUILD_MONTHLY_SQL);
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Rebuilt attendance rollups: {} daily rows, {} employee monthly rows, {} monthly rows in {} ms",
+                dailyRows, employeeMonthlyRows, monthlyRows, elapsed);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("dailyRows", dailyRows);
+        result.put("employeeMonthlyRows", employeeMonthlyRows);
+        result.put("monthlyRows", monthlyRows);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    public static long workedMinutes(LocalTime checkIn, LocalTime checkOut) {
+        if (checkIn == null || checkOut == null) {
+            return 0;
+        }
+        int seconds = checkOut.toSecondOfDay() - checkIn.toSecondOfDay();
+        return seconds > 0 ? seconds / 60 : 0;
+    }
+
+    private void apply(Collection<Contribution> contributions, int sign) {
+        Map<List<Object>, Delta> daily = new LinkedHashMap<>();
+        Map<List<Object>, Delta> employeeMonthly = new LinkedHashMap<>();
+        Map<List<Object>, Delta> monthly = new LinkedHashMap<>();
+        for (Contribution contribution : contributions) {
+            Long departmentId = contribution.departmentId() != null ? contribution.departmentId() : 0L;
+            daily.computeIfAbsent(List.of(contribution.employeeId(), contribution.date()), key -> new Delta())
+                    .add(contribution, sign);
+            employeeMonthly.computeIfAbsent(List.of(contribution.employeeId(), contribution.date().withDayOfMonth(1)), key -> new Delta())
+                    .add(contribution, sign);
+            monthly.computeIfAbsent(List.of(departmentId, contribution.date().withDayOfMonth(1)), key -> new Delta())
+                    .add(contribution, sign);
+        }
+        upsert(UPSERT_DAILY_SQL, daily);
+        upsert(UPSERT_EMPLOYEE_MONTHLY_SQL, employeeMonthly);
+        upsert(UPSERT_MONTHLY_SQL, monthly);
+    }
+
+    private void upsert(String sql, Map<List<Object>, Delta> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> args.add(delta.toArgs(key.get(0), key.get(1))));
+        if (args.size() == 1) {
+            jdbcTemplate.update(sql, args.get(0));
+        } else if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, args);
+        }
+    }
+
+    private static final class Delta {
+        private long total;
+        private long present;
+        private long absent;
+        private long late;
+        private long halfDay;
+        private double overtimeHours;
+        private long workedMinutes;
+
+        void add(Contribution contribution, int sign) {
+            total += sign;
+            switch (contribution.status() != null ? contribution.status() : "") {
+                case "Present" -> present += sign;
+                case "Absent" -> absent += sign;
+                case "Late" -> late += sign;
+                case "Half-day" -> halfDay += sign;
+                default -> {
+                }
+            }
+            overtimeHours += sign * contribution.overtimeHours();
+            workedMinutes += sign * contribution.workedMinutes();
+        }
+
+        Object[] toArgs(Object firstKey, Object secondKey) {
+            return new Object[]{firstKey, secondKey, total, present, absent, late, halfDay, overtimeHours, workedMinutes};
+        }
+    }
+
+    private static String onDuplicateKeyAdd() {
+        return "ON DUPLICATE KEY UPDATE " +
+                "total_records = total_records + VALUES(total_records), " +
+                "present_days = present_days + VALUES(present_days), " +
+                "absent_days = absent_days + VALUES(absent_days), " +
+                "late_days = late_days + VALUES(late_days), " +
+                "half_days = half_days + VALUES(half_days), " +
+                "overtime_hours = overtime_hours + VALUES(overtime_hours), " +
+                "worked_minutes = worked_minutes + VALUES(worked_minutes)";
+    }
+}
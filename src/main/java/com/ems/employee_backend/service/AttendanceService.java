@@ -1,21 +1,46 @@
 package com.ems.employee_backend.service;
 
+import com.ems.employee_backend.dto.AttendanceCalendarRow;
+import com.ems.employee_backend.dto.AttendanceReportResponse;
 import com.ems.employee_backend.dto.AttendanceRequest;
 import com.ems.employee_backend.dto.AttendanceResponse;
+import com.ems.employee_backend.dto.AttendanceSummaryRow;
+import com.ems.employee_backend.dto.CalendarEntry;
+import com.ems.employee_backend.dto.CalendarResponse;
+import com.ems.employee_backend.dto.EmployeeAttendanceReport;
+import com.ems.employee_backend.dto.PageResponse;
+import com.ems.employee_backend.entity.ArchivedAttendance;
 import com.ems.employee_backend.entity.Attendance;
+import com.ems.employee_backend.entity.AttendanceMonthlyRollup;
 import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.repository.ArchivedAttendanceRepository;
+import com.ems.employee_backend.repository.AttendanceDailyRollupRepository;
+import com.ems.employee_backend.repository.AttendanceMonthlyRollupRepository;
 import com.ems.employee_backend.repository.AttendanceRepository;
 import com.ems.employee_backend.repository.EmployeeRepository;
+import com.ems.employee_backend.service.AttendanceRollupService.Contribution;
+import com.ems.employee_backend.util.KeysetCursor;
+import com.ems.employee_backend.util.StripedLocks;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.time.DayOfWeek;
+import java.time.DateTimeException;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,14 +49,34 @@ public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
-
+    private final AttendanceRollupService attendanceRollupService;
+    private final AttendanceDailyRollupRepository dailyRollupRepository;
+    private final AttendanceMonthlyRollupRepository monthlyRollupRepository;
+    private final DepartmentNameCache departmentNameCache;
+    private final CheckInGroupCommitter checkInGroupCommitter;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final ArchivedAttendanceRepository archivedAttendanceRepository;
+    private final BusinessCalendar businessCalendar;
+    private final AttendanceTimeColumnMigration attendanceTimeColumnMigration;
+    private final AttendanceUniqueConstraintMigration attendanceUniqueConstraintMigration;
+
+    // Serializes check-ins per employee without making different employees wait on each other
+    private final StripedLocks checkInLocks = new StripedLocks(256);
+
+    private static final String[] ATTENDANCE_CALENDAR_COUNTERS = {"present", "absent", "late", "halfDay"};
+
+    @Transactional
     public AttendanceResponse create(AttendanceRequest request) {
         Employee employee = employeeRepository.findById(request.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
+        LocalDate date = request.getDate() != null ? request.getDate() : LocalDate.now();
+        attendanceArchiveService.ensureWritable(date);
+        ensureNoOtherRecord(employee.getId(), date, null);
 
         Attendance attendance = Attendance.builder()
                 .employee(employee)
-                .date(request.getDate() != null ? request.getDate() : LocalDate.now())
+                .date(date)
                 .checkIn(request.getCheckIn())
                 .checkOut(request.getCheckOut())
                 .status(request.getStatus())
@@ -39,6 +84,7 @@ public class AttendanceService {
                 .build();
 
         Attendance savedAttendance = attendanceRepository.save(attendance);
+        attendanceRollupService.add(Contribution.of(savedAttendance));
         return convertToResponse(savedAttendance);
     }
 
@@ -49,26 +95,66 @@ public class AttendanceService {
                 .collect(Collectors.toList());
     }
 
+    // Newest first, keyed on (date, id) so deep pages stay an index range scan
+    public PageResponse<AttendanceResponse> getPage(String cursor, int size) {
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<Attendance> rows = after == null
+                ? attendanceRepository.findLatestPage(limit)
+                : attendanceRepository.findPageBefore(LocalDate.parse(after.sortKey()), after.id(), limit);
+
+        // Archived rows all sort after the hot ones unless the page reaches closed months not yet archived
+        if (rows.size() <= size || rows.get(rows.size() - 1).getDate().isBefore(attendanceArchiveService.hotFrom())) {
+            List<ArchivedAttendance> archived = after == null
+                    ? archivedAttendanceRepository.findLatestPage(limit)
+                    : archivedAttendanceRepository.findPageBefore(LocalDate.parse(after.sortKey()), after.id(), limit);
+            if (!archived.isEmpty()) {
+                List<Attendance> merged = new ArrayList<>(rows);
+                archived.forEach(row -> merged.add(row.toAttendance()));
+                merged.sort(Comparator.comparing(Attendance::getDate).thenComparing(Attendance::getId).reversed());
+                rows = merged.subList(0, Math.min(merged.size(), size + 1));
+            }
+        }
+        return PageResponse.fromRows(rows, size, attendance -> KeysetCursor.encode(attendance.getDate().toString(), attendance.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()));
+    }
+
     public List<AttendanceResponse> getByEmployeeId(Long employeeId) {
-        return attendanceRepository.findByEmployeeId(employeeId).stream()
-                .map(this::convertToResponse)
+        List<AttendanceResponse> responses = archivedAttendanceRepository.findByEmployeeId(employeeId).stream()
+                .map(archived -> convertToResponse(archived.toAttendance()))
                 .collect(Collectors.toList());
+        attendanceRepository.findByEmployeeId(employeeId).forEach(attendance -> responses.add(convertToResponse(attendance)));
+        return responses;
     }
 
+    // Recent ranges only touch the hot table; ranges reaching closed months also read the archive
     public List<AttendanceResponse> getByDateRange(LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.findByDateBetween(startDate, endDate).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<AttendanceResponse> responses = new ArrayList<>();
+        if (startDate.isBefore(attendanceArchiveService.hotFrom())) {
+            archivedAttendanceRepository.findByDateBetween(startDate, endDate)
+                    .forEach(archived -> responses.add(convertToResponse(archived.toAttendance())));
+        }
+        attendanceRepository.findByDateBetween(startDate, endDate).forEach(attendance -> responses.add(convertToResponse(attendance)));
+        return responses;
     }
 
+    @Transactional
     public AttendanceResponse update(Long id, AttendanceRequest request) {
         Attendance attendance = attendanceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Attendance record not found"));
+        Contribution previous = Contribution.of(attendance);
+        attendanceArchiveService.ensureWritable(attendance.getDate());
+        attendanceArchiveService.ensureWritable(request.getDate());
+        ensureNoOtherRecord(request.getEmployeeId() != null ? request.getEmployeeId() : attendance.getEmployee().getId(),
+                request.getDate() != null ? request.getDate() : attendance.getDate(), id);
 
         if (request.getEmployeeId() != null) {
             Employee employee = employeeRepository.findById(request.getEmployeeId())
                     .orElseThrow(() -> new RuntimeException("Employee not found"));
-            attendance.setEmployee(employee);
+            if (!employee.getId().equals(attendance.getEmployee().getId())) {
+                attendance.setEmployee(employee);
+                attendance.setDepartmentId(employee.getDepartmentId());
+            }
         }
 
         if (request.getDate() != null) attendance.setDate(request.getDate());
@@ -78,47 +164,99 @@ public class AttendanceService {
         if (request.getNotes() != null) attendance.setNotes(request.getNotes());
 
         Attendance updatedAttendance = attendanceRepository.save(attendance);
+        attendanceRollupService.replace(previous, Contribution.of(updatedAttendance));
         return convertToResponse(updatedAttendance);
     }
 
+    @Transactional
     public void delete(Long id) {
-        if (!attendanceRepository.existsById(id)) {
-            throw new RuntimeException("Attendance record not found");
+        Attendance attendance = attendanceRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Attendance record not found"));
+        attendanceArchiveService.ensureWritable(attendance.getDate());
+        attendanceRepository.delete(attendance);
+        attendanceRollupService.remove(Contribution.of(attendance));
+    }
+
+    // Goes through the group-commit writer when enabled, otherwise commits on the calling thread
+    public CompletableFuture<AttendanceResponse> checkInAsync(Long employeeId) {
+        if (checkInGroupCommitter.isEnabled()) {
+            return checkInGroupCommitter.submit(employeeId).thenApply(this::convertToResponse);
         }
-        attendanceRepository.deleteById(id);
+        return CompletableFuture.completedFuture(checkIn(employeeId));
     }
 
+    public Map<String, Object> getCheckInStats() {
+        return checkInGroupCommitter.getStats();
+    }
+
+    /**
+     * Idempotent: a repeated check-in on the same day returns the row created by
+     * the first one. The per-employee lock is held until the insert commits, so
+     * a concurrent retry always sees it.
+     */
     public AttendanceResponse checkIn(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        ReentrantLock lock = checkInLocks.lockFor(employeeId);
+        lock.lock();
+        try {
+            return convertToResponse(transactionTemplate.execute(status -> checkInLocked(employeeId)));
+        } catch (DataIntegrityViolationException e) {
+            // Another node inserted the same employee and day first
+            return convertToResponse(attendanceRepository.findByEmployeeIdAndDate(employeeId, LocalDate.now())
+                    .orElseThrow(() -> e));
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        Attendance attendance = Attendance.builder()
-                .employee(employee)
-                .date(LocalDate.now())
-                .checkIn(java.time.LocalTime.now().toString())
-                .status("Present")
-                .build();
+    private Attendance checkInLocked(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        return attendanceRepository.findByEmployeeIdAndDate(employeeId, today).orElseGet(() -> {
+            Employee employee = employeeRepository.findById(employeeId)
+                    .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        Attendance savedAttendance = attendanceRepository.save(attendance);
-        return convertToResponse(savedAttendance);
+            Attendance attendance = Attendance.builder()
+                    .employee(employee)
+                    .date(today)
+                    .checkIn(LocalTime.now().truncatedTo(ChronoUnit.SECONDS))
+                    .status("Present")
+                    .build();
+
+            Attendance savedAttendance = attendanceRepository.saveAndFlush(attendance);
+            attendanceRollupService.add(Contribution.of(savedAttendance));
+            return savedAttendance;
+        });
+    }
+
+    private void ensureNoOtherRecord(Long employeeId, LocalDate date, Long exceptId) {
+        attendanceRepository.findByEmployeeIdAndDate(employeeId, date)
+                .filter(existing -> !existing.getId().equals(exceptId))
+                .ifPresent(existing -> {
+                    throw new RuntimeException("Attendance already recorded for employee " + employeeId + " on " + date);
+                });
     }
 
+    @Transactional
     public AttendanceResponse checkOut(Long id) {
         Attendance attendance = attendanceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Attendance record not found"));
+        Contribution previous = Contribution.of(attendance);
 
-        attendance.setCheckOut(java.time.LocalTime.now().toString());
+        attendance.setCheckOut(LocalTime.now().truncatedTo(ChronoUnit.SECONDS));
         Attendance savedAttendance = attendanceRepository.save(attendance);
+        attendanceRollupService.replace(previous, Contribution.of(savedAttendance));
         return convertToResponse(savedAttendance);
     }
 
     public Map<String, Object> getSummary(Long employeeId, String month) {
-        List<Attendance> attendances = attendanceRepository.findByEmployeeId(employeeId);
-        
-        long totalDays = attendances.size();
-        long presentDays = attendances.stream().filter(a -> "Present".equals(a.getStatus())).count();
-        long absentDays = attendances.stream().filter(a -> "Absent".equals(a.getStatus())).count();
-        long lateDays = attendances.stream().filter(a -> "Late".equals(a.getStatus())).count();
+        // Whole history unless a month is given, bounded by the months that actually have attendance
+        LocalDate[] range = month != null && !month.isBlank() ? parseMonth(month) : recordedMonths(employeeId);
+        List<AttendanceSummaryRow> rows = range != null ? summarize(range[0], range[1], employeeId) : List.of();
+        AttendanceSummaryRow row = rows.isEmpty() ? null : rows.get(0);
+
+        long totalDays = row != null ? row.getTotalDays() : 0;
+        long presentDays = row != null ? row.getPresentDays() : 0;
+        long absentDays = row != null ? row.getAbsentDays() : 0;
+        long lateDays = row != null ? row.getLateDays() : 0;
         
         Map<String, Object> summary = new HashMap<>();
         summary.put("totalDays", totalDays);
@@ -131,211 +269,210 @@ public class AttendanceService {
     }
 
     public List<Map<String, Object>> getMonthlySummary(String month) {
-        List<Attendance> allAttendances = attendanceRepository.findAll();
-        
-        // Filter by month if provided
-        List<Attendance> filteredAttendances = allAttendances.stream()
-                .filter(a -> a.getDate().toString().startsWith(month))
+        LocalDate[] range = parseMonth(month);
+        return summarize(range[0], range[1], null).stream()
+                .map(row -> toMonthlySummary(row, month))
                 .collect(Collectors.toList());
-        
-        // Group by employee
-        Map<Long, List<Attendance>> groupedByEmployee = filteredAttendances.stream()
-                .collect(Collectors.groupingBy(a -> a.getEmployee().getId()));
-        
+    }
+
+    public List<Map<String, Object>> getDepartmentMonthlySummary(String month) {
+        LocalDate monthStart = parseMonth(month)[0];
+        List<AttendanceMonthlyRollup> rollups = monthlyRollupRepository.findByMonthOrderByDepartmentIdAsc(monthStart);
+        Map<Long, String> departmentNames = departmentNameCache.resolveNames(rollups.stream()
+                .map(AttendanceMonthlyRollup::getDepartmentId)
+                .collect(Collectors.toSet()));
+
         List<Map<String, Object>> summaries = new ArrayList<>();
-        
-        for (Map.Entry<Long, List<Attendance>> entry : groupedByEmployee.entrySet()) {
-            Long employeeId = entry.getKey();
-            List<Attendance> employeeAttendances = entry.getValue();
-            
-            long presentDays = employeeAttendances.stream().filter(a -> "Present".equals(a.getStatus())).count();
-            long absentDays = employeeAttendances.stream().filter(a -> "Absent".equals(a.getStatus())).count();
-            long lateDays = employeeAttendances.stream().filter(a -> "Late".equals(a.getStatus())).count();
-            long halfDays = employeeAttendances.stream().filter(a -> "Half-day".equals(a.getStatus())).count();
-            
-            double totalOvertimeHours = employeeAttendances.stream()
-                    .mapToDouble(a -> a.getOvertimeHours() != null ? a.getOvertimeHours() : 0.0)
-                    .sum();
-            
-            double averageHoursPerDay = employeeAttendances.stream()
-                    .mapToDouble(a -> calculateHoursWorked(a.getCheckIn(), a.getCheckOut()))
-                    .average()
-                    .orElse(0.0);
-            
+        for (AttendanceMonthlyRollup rollup : rollups) {
+            if (rollup.getTotalRecords() <= 0) {
+                continue;
+            }
             Map<String, Object> summary = new HashMap<>();
-            summary.put("employeeId", employeeId);
+            summary.put("departmentId", rollup.getDepartmentId() != 0 ? rollup.getDepartmentId() : null);
+            summary.put("departmentName", departmentNames.get(rollup.getDepartmentId()));
             summary.put("month", month);
-            summary.put("totalDays", employeeAttendances.size());
-            summary.put("presentDays", presentDays);
-            summary.put("absentDays", absentDays);
-            summary.put("lateDays", lateDays);
-            summary.put("halfDays", halfDays);
-            summary.put("totalOvertimeHours", totalOvertimeHours);
-            summary.put("averageHoursPerDay", averageHoursPerDay);
-            
+            summary.put("totalDays", rollup.getTotalRecords());
+            summary.put("presentDays", rollup.getPresentDays());
+            summary.put("absentDays", rollup.getAbsentDays());
+            summary.put("lateDays", rollup.getLateDays());
+            summary.put("halfDays", rollup.getHalfDays());
+            summary.put("totalOvertimeHours", rollup.getOvertimeHours());
+            summary.put("totalWorkedMinutes", rollup.getWorkedMinutes());
             summaries.add(summary);
         }
-        
         return summaries;
     }
 
-    public AttendanceResponse getById(Long id) {
-        Attendance attendance = attendanceRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Attendance record not found"));
-        return convertToResponse(attendance);
+    public Map<String, Object> rebuildRollups() {
+        return attendanceRollupService.rebuild();
     }
 
-    public Map<String, Object> generateReport(LocalDate startDate, LocalDate endDate, Long employeeId) {
-        List<Attendance> attendances;
-        
-        if (employeeId != null) {
-            attendances = attendanceRepository.findByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
-        } else {
-            attendances = attendanceRepository.findByDateBetween(startDate, endDate);
+    public Map<String, Object> archiveClosedMonths() {
+        return attendanceArchiveService.archiveClosedMonths();
+    }
+
+    public Map<String, Object> dropLegacyTimeColumns() {
+        return attendanceTimeColumnMigration.dropLegacyColumns();
+    }
+
+    public Map<String, Object> resolveDuplicateAttendance() {
+        return attendanceUniqueConstraintMigration.resolveDuplicates();
+    }
+
+    // Whole months of the range from the per-employee monthly rollups, the partial months at either end from the daily ones
+    private List<AttendanceSummaryRow> summarize(LocalDate startDate, LocalDate endDate, Long employeeId) {
+        LocalDate firstMonth = startDate.getDayOfMonth() == 1 ? startDate : startDate.plusMonths(1).withDayOfMonth(1);
+        LocalDate afterLastMonth = endDate.plusDays(1).getDayOfMonth() == 1
+                ? endDate.plusDays(1) : endDate.withDayOfMonth(1);
+        if (!firstMonth.isBefore(afterLastMonth)) {
+            // No whole month inside the range: all of it from the daily rollups, with empty month and tail spans
+            return dailyRollupRepository.summarizeByEmployee(firstMonth, firstMonth.minusMonths(1),
+                    startDate, endDate, endDate.plusDays(1), endDate, employeeId);
         }
-        
-        // Calculate statistics
-        long totalDays = attendances.size();
-        long presentDays = attendances.stream().filter(a -> "Present".equals(a.getStatus())).count();
-        long absentDays = attendances.stream().filter(a -> "Absent".equals(a.getStatus())).count();
-        long lateDays = attendances.stream().filter(a -> "Late".equals(a.getStatus())).count();
-        long halfDays = attendances.stream().filter(a -> "Half-day".equals(a.getStatus())).count();
-        
-        double totalHours = attendances.stream()
-                .mapToDouble(a -> calculateHoursWorked(a.getCheckIn(), a.getCheckOut()))
-                .sum();
-        
-        double totalOvertimeHours = attendances.stream()
-                .mapToDouble(a -> a.getOvertimeHours() != null ? a.getOvertimeHours() : 0.0)
-                .sum();
-        
-        // Group by employee for detailed breakdown
-        Map<Long, List<Attendance>> byEmployee = attendances.stream()
-                .collect(Collectors.groupingBy(a -> a.getEmployee().getId()));
-        
-        List<Map<String, Object>> employeeBreakdown = new ArrayList<>();
-        for (Map.Entry<Long, List<Attendance>> entry : byEmployee.entrySet()) {
-            Long empId = entry.getKey();
-            List<Attendance> empAttendances = entry.getValue();
-            Employee emp = empAttendances.get(0).getEmployee();
-            
-            long empPresent = empAttendances.stream().filter(a -> "Present".equals(a.getStatus())).count();
-            long empAbsent = empAttendances.stream().filter(a -> "Absent".equals(a.getStatus())).count();
-            long empLate = empAttendances.stream().filter(a -> "Late".equals(a.getStatus())).count();
-            
-            Map<String, Object> empData = new HashMap<>();
-            empData.put("employeeId", empId);
-            empData.put("employeeName", emp.getFirstName() + " " + emp.getLastName());
-            empData.put("totalDays", empAttendances.size());
-            empData.put("presentDays", empPresent);
-            empData.put("absentDays", empAbsent);
-            empData.put("lateDays", empLate);
-            empData.put("attendanceRate", empAttendances.size() > 0 ? (empPresent * 100.0 / empAttendances.size()) : 0);
-            employeeBreakdown.add(empData);
+        return dailyRollupRepository.summarizeByEmployee(firstMonth, afterLastMonth.minusMonths(1),
+                startDate, firstMonth.minusDays(1), afterLastMonth, endDate, employeeId);
+    }
+
+    // {first day of the first month, last day of the last month} with attendance, or null when there is none
+    private LocalDate[] recordedMonths(Long employeeId) {
+        LocalDate first = dailyRollupRepository.findFirstDate(employeeId);
+        LocalDate last = dailyRollupRepository.findLastDate(employeeId);
+        if (first == null || last == null) {
+            return null;
         }
-        
-        Map<String, Object> report = new HashMap<>();
-        report.put("startDate", startDate);
-        report.put("endDate", endDate);
-        report.put("totalEmployees", byEmployee.size());
-        report.put("totalDays", totalDays);
-        report.put("presentDays", presentDays);
-        report.put("absentDays", absentDays);
-        report.put("lateDays", lateDays);
-        report.put("halfDays", halfDays);
-        report.put("totalHours", totalHours);
-        report.put("totalOvertimeHours", totalOvertimeHours);
-        report.put("attendanceRate", totalDays > 0 ? (presentDays * 100.0 / totalDays) : 0);
-        report.put("employeeBreakdown", employeeBreakdown);
-        
-        return report;
+        return new LocalDate[]{first.withDayOfMonth(1), last.withDayOfMonth(last.lengthOfMonth())};
     }
 
-    public Map<String, Object> getAttendanceCalendar(int year, int month, Long employeeId) {
+    // Accepts yyyy-MM, or yyyy for a whole year; returns {first day, last day}
+    private static LocalDate[] parseMonth(String month) {
         try {
-            LocalDate startDate = LocalDate.of(year, month, 1);
-            LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-            List<Attendance> attendances;
-            if (employeeId != null) {
-                attendances = attendanceRepository.findByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
-            } else {
-                attendances = attendanceRepository.findByDateBetween(startDate, endDate);
+            if (month.length() == 4) {
+                LocalDate startDate = LocalDate.of(Integer.parseInt(month), 1, 1);
+                return new LocalDate[]{startDate, startDate.withDayOfYear(startDate.lengthOfYear())};
             }
+            YearMonth yearMonth = YearMonth.parse(month);
+            return new LocalDate[]{yearMonth.atDay(1), yearMonth.atEndOfMonth()};
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid month '" + month + "', expected yyyy-MM");
+        }
+    }
 
-            // Create calendar data structure
-            Map<Integer, Map<String, Object>> calendarDays = new HashMap<>();
-
-            // Initialize all days of month
-            for (int day = 1; day <= endDate.getDayOfMonth(); day++) {
-                LocalDate currentDate = LocalDate.of(year, month, day);
-                DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
+    private Map<String, Object> toMonthlySummary(AttendanceSummaryRow row, String month) {
+        long totalDays = row.getTotalDays();
+        long workedMinutes = row.getWorkedMinutes() != null ? row.getWorkedMinutes() : 0L;
 
-                Map<String, Object> dayData = new HashMap<>();
-                dayData.put("date", currentDate);
-                dayData.put("isWeekend", dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY);
-                dayData.put("attendances", new ArrayList<>());
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("employeeId", row.getEmployeeId());
+        summary.put("month", month);
+        summary.put("totalDays", totalDays);
+        summary.put("presentDays", row.getPresentDays());
+        summary.put("absentDays", row.getAbsentDays());
+        summary.put("lateDays", row.getLateDays());
+        summary.put("halfDays", row.getHalfDays());
+        summary.put("totalOvertimeHours", row.getTotalOvertimeHours() != null ? row.getTotalOvertimeHours() : 0.0);
+        summary.put("totalWorkedMinutes", workedMinutes);
+        summary.put("averageHoursPerDay", totalDays > 0 ? workedMinutes / 60.0 / totalDays : 0.0);
+        return summary;
+    }
 
-                // Use mutable HashMap for summary
-                Map<String, Integer> summary = new HashMap<>();
-                summary.put("present", 0);
-                summary.put("absent", 0);
-                summary.put("late", 0);
-                summary.put("halfDay", 0);
-                dayData.put("summary", summary);
+    public AttendanceResponse getById(Long id) {
+        Attendance attendance = attendanceRepository.findById(id)
+                .or(() -> archivedAttendanceRepository.findFirstById(id).map(ArchivedAttendance::toAttendance))
+                .orElseThrow(() -> new RuntimeException("Attendance record not found"));
+        return convertToResponse(attendance);
+    }
 
-                calendarDays.put(day, dayData);
-            }
+    // Rows are already aggregated per employee by the rollup query, so one pass builds the whole report
+    public AttendanceReportResponse generateReport(LocalDate startDate, LocalDate endDate, Long employeeId) {
+        List<AttendanceSummaryRow> rows = summarize(startDate, endDate, employeeId);
+        Map<Long, Employee> employees = employeeRepository.findAllById(rows.stream()
+                        .map(AttendanceSummaryRow::getEmployeeId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Employee::getId, e -> e));
+
+        long totalDays = 0;
+        long presentDays = 0;
+        long absentDays = 0;
+        long lateDays = 0;
+        long halfDays = 0;
+        long workedMinutes = 0;
+        double totalOvertimeHours = 0.0;
+
+        List<EmployeeAttendanceReport> employeeBreakdown = new ArrayList<>(rows.size());
+        for (AttendanceSummaryRow row : rows) {
+            totalDays += row.getTotalDays();
+            presentDays += row.getPresentDays();
+            absentDays += row.getAbsentDays();
+            lateDays += row.getLateDays();
+            halfDays += row.getHalfDays();
+            workedMinutes += row.getWorkedMinutes();
+            totalOvertimeHours += row.getTotalOvertimeHours();
+
+            Employee emp = employees.get(row.getEmployeeId());
+            EmployeeAttendanceReport empData = new EmployeeAttendanceReport();
+            empData.setEmployeeId(row.getEmployeeId());
+            empData.setEmployeeName(emp != null ? emp.getFirstName() + " " + emp.getLastName() : null);
+            empData.setTotalDays(row.getTotalDays());
+            empData.setPresentDays(row.getPresentDays());
+            empData.setAbsentDays(row.getAbsentDays());
+            empData.setLateDays(row.getLateDays());
+            empData.setAttendanceRate(row.getTotalDays() > 0 ? (row.getPresentDays() * 100.0 / row.getTotalDays()) : 0);
+            employeeBreakdown.add(empData);
+        }
 
-            // Populate with attendance data
-            for (Attendance attendance : attendances) {
-                int day = attendance.getDate().getDayOfMonth();
-                Map<String, Object> dayData = calendarDays.get(day);
-
-                if (dayData != null) {
-                    List<Attendance> dayAttendances = (List<Attendance>) dayData.get("attendances");
-                    dayAttendances.add(attendance);
-
-                    // Update summary
-                    Map<String, Integer> summary = (Map<String, Integer>) dayData.get("summary");
-                    String status = attendance.getStatus();
-                    switch (status) {
-                        case "Present" -> summary.put("present", summary.get("present") + 1);
-                        case "Absent" -> summary.put("absent", summary.get("absent") + 1);
-                        case "Late" -> summary.put("late", summary.get("late") + 1);
-                        case "Half-day" -> summary.put("halfDay", summary.get("halfDay") + 1);
-                    }
-                }
-            }
+        AttendanceReportResponse report = new AttendanceReportResponse();
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        report.setTotalEmployees(rows.size());
+        report.setTotalDays(totalDays);
+        report.setPresentDays(presentDays);
+        report.setAbsentDays(absentDays);
+        report.setLateDays(lateDays);
+        report.setHalfDays(halfDays);
+        report.setTotalHours(workedMinutes / 60.0);
+        report.setTotalOvertimeHours(totalOvertimeHours);
+        report.setAttendanceRate(totalDays > 0 ? (presentDays * 100.0 / totalDays) : 0);
+        report.setEmployeeBreakdown(employeeBreakdown);
+        return report;
+    }
 
-            Map<String, Object> calendar = new HashMap<>();
-            calendar.put("year", year);
-            calendar.put("month", month);
-            calendar.put("monthName", startDate.getMonth().toString());
-            calendar.put("startDate", startDate);
-            calendar.put("endDate", endDate);
-            calendar.put("days", calendarDays);
-            calendar.put("totalAttendances", attendances.size());
-
-            return calendar;
-        } catch (Exception e) {
+    public CalendarResponse getAttendanceCalendar(int year, int month, Long employeeId) {
+        CalendarResponse calendar;
+        try {
+            calendar = new CalendarResponse(year, month, ATTENDANCE_CALENDAR_COUNTERS,
+                    "attendances", "status", "totalAttendances");
+        } catch (DateTimeException e) {
             throw new RuntimeException("Error generating calendar: " + e.getMessage(), e);
         }
+
+        businessCalendar.markDays(calendar);
+
+        List<AttendanceCalendarRow> rows = attendanceRepository.findCalendarRows(
+                calendar.getStartDate(), calendar.getEndDate(), employeeId);
+        if (calendar.getStartDate().isBefore(attendanceArchiveService.hotFrom())) {
+            rows = new ArrayList<>(rows);
+            rows.addAll(archivedAttendanceRepository.findCalendarRows(calendar.getStartDate(), calendar.getEndDate(), employeeId));
+        }
+        for (AttendanceCalendarRow row : rows) {
+            calendar.add(row.getDate().getDayOfMonth(), attendanceCounter(row.getStatus()),
+                    new CalendarEntry(row.getId(), row.getEmployeeId(), row.getEmployeeName(), row.getStatus()));
+        }
+        calendar.setTotal(rows.size());
+        return calendar;
     }
-    private double calculateHoursWorked(String checkIn, String checkOut) {
-        if (checkIn == null || checkOut == null) return 0.0;
-        
-        try {
-            String[] checkInParts = checkIn.split(":");
-            String[] checkOutParts = checkOut.split(":");
-            
-            double checkInHours = Double.parseDouble(checkInParts[0]) + Double.parseDouble(checkInParts[1]) / 60.0;
-            double checkOutHours = Double.parseDouble(checkOutParts[0]) + Double.parseDouble(checkOutParts[1]) / 60.0;
-            
-            return Math.max(0, checkOutHours - checkInHours);
-        } catch (Exception e) {
-            return 0.0;
+
+    // Index into ATTENDANCE_CALENDAR_COUNTERS; unknown statuses are listed but not counted
+    private static int attendanceCounter(String status) {
+        if (status == null) {
+            return -1;
         }
+        return switch (status) {
+            case "Present" -> 0;
+            case "Absent" -> 1;
+            case "Late" -> 2;
+            case "Half-day" -> 3;
+            default -> -1;
+        };
     }
 
     private AttendanceResponse convertToResponse(Attendance attendance) {
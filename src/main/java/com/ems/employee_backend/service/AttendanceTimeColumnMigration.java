@@ -0,0 +1,117 @@
+package com.ems.employee_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migration of attendance check-in/check-out times from the old varchar
+ * columns (LocalTime.toString() text) into the TIME columns Hibernate adds for
+ * the entity. Every startup copies the rows that have not been converted yet,
+ * which also picks up rows written by nodes still on the old code during a
+ * rolling deploy, and logs the values that do not parse. The old columns are
+ * left in place; {@link #dropLegacyColumns()} removes them once an admin has
+ * confirmed every node runs the new code and nothing unparsable remains.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceTimeColumnMigration implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceTimeColumnMigration.class);
+
+    private static final int LOGGED_FAILURES = 100;
+
+    private static final String LEGACY_COLUMNS_SQL = "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = 'attendance' AND column_name IN ('check_in', 'check_out')";
+
+    // H:mm or HH:mm[:ss[.fraction]]; the fraction LocalTime.toString() may have written is cut off before the cast
+    private static final String TIME_PATTERN = "'^([01]?[0-9]|2[0-3]):[0-5][0-9](:[0-5][0-9]([.][0-9]+)?)?$'";
+
+    private static final String COPY_SQL = "UPDATE attendance SET " +
+            "check_in_time = COALESCE(check_in_time, CASE WHEN TRIM(check_in) REGEXP " + TIME_PATTERN + " " +
+            "THEN CAST(SUBSTRING_INDEX(TRIM(check_in), '.', 1) AS TIME) END), " +
+            "check_out_time = COALESCE(check_out_time, CASE WHEN TRIM(check_out) REGEXP " + TIME_PATTERN + " " +
+            "THEN CAST(SUBSTRING_INDEX(TRIM(check_out), '.', 1) AS TIME) END) " +
+            "WHERE (check_in_time IS NULL AND check_in IS NOT NULL) OR (check_out_time IS NULL AND check_out IS NOT NULL)";
+
+    // Rows whose legacy text was left behind by the copy
+    private static final String UNPARSED_WHERE = "WHERE (check_in_time IS NULL AND TRIM(check_in) <> '') " +
+            "OR (check_out_time IS NULL AND TRIM(check_out) <> '')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        if (!hasLegacyColumns()) {
+            return;
+        }
+        int copied = copy();
+        long unparsed = logUnparsed();
+        if (copied > 0 || unparsed > 0) {
+            logger.info("Copied {} attendance rows to TIME check-in/check-out columns; {} row(s) could not be parsed",
+                    copied, unparsed);
+        }
+    }
+
+    /**
+     * Final step, run explicitly once all nodes are on the new code: copies any
+     * rows written since the last startup, then drops the old columns. Refuses
+     * while values that do not parse remain, so nothing is dropped silently.
+     */
+    public Map<String, Object> dropLegacyColumns() {
+        Map<String, Object> result = new HashMap<>();
+        if (!hasLegacyColumns()) {
+            result.put("dropped", false);
+            result.put("message", "Legacy check_in/check_out columns are already gone");
+            return result;
+        }
+        int copied = copy();
+        long unparsed = logUnparsed();
+        if (unparsed > 0) {
+            throw new RuntimeException(unparsed + " attendance row(s) still have check-in/check-out text that does not parse; "
+                    + "fix them (see the log) before dropping the legacy columns");
+        }
+        // DDL commits implicitly in MySQL, so only drop once the copy has committed
+        jdbcTemplate.execute("ALTER TABLE attendance DROP COLUMN check_in, DROP COLUMN check_out");
+        logger.info("Dropped legacy attendance check_in/check_out columns after copying {} more row(s)", copied);
+        result.put("dropped", true);
+        result.put("copied", copied);
+        return result;
+    }
+
+    private boolean hasLegacyColumns() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMNS_SQL, Integer.class);
+        return legacyColumns != null && legacyColumns >= 2;
+    }
+
+    private int copy() {
+        Integer copied = transactionTemplate.execute(status -> jdbcTemplate.update(COPY_SQL));
+        return copied != null ? copied : 0;
+    }
+
+    private long logUnparsed() {
+        Long unparsed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance " + UNPARSED_WHERE, Long.class);
+        if (unparsed == null || unparsed == 0) {
+            return 0;
+        }
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, check_in, check_out FROM attendance " + UNPARSED_WHERE + " ORDER BY id LIMIT " + LOGGED_FAILURES);
+        for (Map<String, Object> row : rows) {
+            logger.warn("Attendance {} has unparsable legacy times: check_in='{}', check_out='{}'",
+                    row.get("id"), row.get("check_in"), row.get("check_out"));
+        }
+        if (unparsed > rows.size()) {
+            logger.warn("... and {} more attendance row(s) with unparsable legacy times", unparsed - rows.size());
+        }
+        return unparsed;
+    }
+}
@@ -0,0 +1,181 @@
+package com.ems.employee_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Makes sure uk_attendance_employee_date exists. Hibernate's ddl-auto only logs
+ * a warning and carries on when existing duplicate rows stop it from adding the
+ * constraint, which leaves check-in idempotency resting on the in-process lock
+ * alone. Startup adds the constraint when there is nothing in its way; when
+ * duplicate (employee_id, date) rows exist it only logs them and leaves the
+ * data alone. {@link #resolveDuplicates()} is the explicit admin step that
+ * merges them: it keeps the lowest id per employee and day, widened to the
+ * earliest check-in and the latest check-out of the group, copies every row it
+ * removes to attendance_duplicate_backup first, and then adds the constraint.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceUniqueConstraintMigration implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceUniqueConstraintMigration.class);
+
+    private static final String CONSTRAINT = "uk_attendance_employee_date";
+    private static final String BACKUP_TABLE = "attendance_duplicate_backup";
+
+    private static final int ATTEMPTS = 3;
+    private static final int LOGGED_DUPLICATES = 100;
+
+    private static final String COLUMNS = "id, employee_id, department_id, date, check_in_time, check_out_time, break_duration, " +
+            "status, overtime_hours, notes, created_at, updated_at";
+
+    private static final String ROW_COLUMNS = Arrays.stream(COLUMNS.split(", "))
+            .map(column -> "a." + column)
+            .collect(Collectors.joining(", "));
+
+    private static final String CONSTRAINT_SQL = "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = 'attendance' AND index_name = '" + CONSTRAINT + "' AND non_unique = 0";
+
+    private static final String DUPLICATE_GROUPS_SQL = "SELECT employee_id, date, MIN(id) AS keep_id, " +
+            "MIN(check_in_time) AS check_in_time, MAX(check_out_time) AS check_out_time, COUNT(*) AS copies " +
+            "FROM attendance GROUP BY employee_id, date HAVING COUNT(*) > 1";
+
+    // Rows that lose to the lowest id of their group
+    private static final String LOSING_ROWS = "FROM attendance a JOIN (" + DUPLICATE_GROUPS_SQL + ") d " +
+            "ON a.employee_id = d.employee_id AND a.date = d.date AND a.id <> d.keep_id";
+
+    private static final String CREATE_BACKUP_SQL = "CREATE TABLE IF NOT EXISTS " + BACKUP_TABLE +
+            " AS SELECT a.id AS kept_id, NOW() AS removed_at, " + ROW_COLUMNS + " FROM attendance a WHERE 1 = 0";
+
+    private static final String BACKUP_SQL = "INSERT INTO " + BACKUP_TABLE + " (kept_id, removed_at, " + COLUMNS + ") " +
+            "SELECT d.keep_id, NOW(), " + ROW_COLUMNS + " " + LOSING_ROWS;
+
+    private static final String MERGE_SQL = "UPDATE attendance a JOIN (" + DUPLICATE_GROUPS_SQL + ") d ON a.id = d.keep_id " +
+            "SET a.check_in_time = COALESCE(d.check_in_time, a.check_in_time), " +
+            "a.check_out_time = COALESCE(d.check_out_time, a.check_out_time)";
+
+    private static final String DELETE_SQL = "DELETE a " + LOSING_ROWS;
+
+    private static final String ADD_CONSTRAINT_SQL = "ALTER TABLE attendance ADD CONSTRAINT " + CONSTRAINT +
+            " UNIQUE (employee_id, date)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceRollupService attendanceRollupService;
+
+    @Override
+    public void run(String... args) {
+        if (hasConstraint()) {
+            return;
+        }
+        long groups = logDuplicates();
+        if (groups == 0 && addConstraint()) {
+            return;
+        }
+        logger.warn("attendance is missing {}; check-ins are only deduplicated within a node until an admin runs "
+                + "POST /api/attendance/migrations/resolve-duplicate-attendance", CONSTRAINT);
+    }
+
+    /**
+     * Explicit admin step: backs up and removes duplicate (employee_id, date)
+     * rows, then adds the constraint. Returns the ids it removed, which stay
+     * recoverable from attendance_duplicate_backup.
+     */
+    public Map<String, Object> resolveDuplicates() {
+        Map<String, Object> result = new HashMap<>();
+        if (hasConstraint()) {
+            result.put("constraintAdded", false);
+            result.put("message", CONSTRAINT + " already exists");
+            return result;
+        }
+        logDuplicates();
+        // DDL commits implicitly in MySQL, so create the backup table before the transaction that fills it
+        jdbcTemplate.execute(CREATE_BACKUP_SQL);
+
+        List<Long> removed = new ArrayList<>();
+        // Nodes still on the old code can insert new duplicates between the cleanup and the ALTER
+        for (int attempt = 1; attempt <= ATTEMPTS && !hasConstraint(); attempt++) {
+            removed.addAll(removeDuplicates());
+            if (!addConstraint()) {
+                logger.warn("Adding {} failed on attempt {}", CONSTRAINT, attempt);
+            }
+        }
+        if (!removed.isEmpty()) {
+            logger.warn("Removed {} duplicate attendance row(s) before adding {}; they are kept in {}",
+                    removed.size(), CONSTRAINT, BACKUP_TABLE);
+            attendanceRollupService.rebuild();
+        }
+        if (!hasConstraint()) {
+            throw new RuntimeException("attendance is still missing " + CONSTRAINT + " after removing " + removed.size()
+                    + " duplicate row(s); run this again once every node is on the new code");
+        }
+        result.put("constraintAdded", true);
+        result.put("removed", removed.size());
+        result.put("removedIds", removed);
+        result.put("backupTable", BACKUP_TABLE);
+        return result;
+    }
+
+    private boolean hasConstraint() {
+        Integer found = jdbcTemplate.queryForObject(CONSTRAINT_SQL, Integer.class);
+        return found != null && found > 0;
+    }
+
+    private boolean addConstraint() {
+        try {
+            jdbcTemplate.execute(ADD_CONSTRAINT_SQL);
+            logger.info("Added {} to attendance", CONSTRAINT);
+            return true;
+        } catch (DataAccessException e) {
+            // Either duplicates are in the way or another node added it first; hasConstraint() tells which
+            logger.warn("Could not add {}: {}", CONSTRAINT, e.getMessage());
+            return hasConstraint();
+        }
+    }
+
+    private long logDuplicates() {
+        Long groups = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + DUPLICATE_GROUPS_SQL + ") d", Long.class);
+        if (groups == null || groups == 0) {
+            return 0;
+        }
+        List<Map<String, Object>> logged = jdbcTemplate.queryForList(DUPLICATE_GROUPS_SQL + " LIMIT " + LOGGED_DUPLICATES);
+        for (Map<String, Object> group : logged) {
+            logger.warn("Employee {} has {} attendance rows on {}; the lowest id is {}",
+                    group.get("employee_id"), group.get("copies"), group.get("date"), group.get("keep_id"));
+        }
+        if (groups > logged.size()) {
+            logger.warn("... and {} more employee-days with duplicate attendance rows", groups - logged.size());
+        }
+        return groups;
+    }
+
+    private List<Long> removeDuplicates() {
+        List<Long> removed = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT a.id " + LOSING_ROWS + " ORDER BY a.id FOR UPDATE", Long.class);
+            if (ids.isEmpty()) {
+                return ids;
+            }
+            jdbcTemplate.update(BACKUP_SQL);
+            jdbcTemplate.update(MERGE_SQL);
+            int deleted = jdbcTemplate.update(DELETE_SQL);
+            if (deleted != ids.size()) {
+                throw new IllegalStateException("Backed up " + ids.size() + " duplicate attendance rows but removed " + deleted);
+            }
+            return ids;
+        });
+        return removed != null ? removed : List.of();
+    }
+}
@@ -0,0 +1,154 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.dto.CalendarResponse;
+import com.ems.employee_backend.entity.Holiday;
+import com.ems.employee_backend.repository.HolidayRepository;
+import com.ems.employee_backend.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Working-day arithmetic over weekends and the holidays table. Each region's
+ * year is loaded once into a cumulative working-day array, so the number of
+ * working days between two dates is two array reads per year touched rather
+ * than a walk over the days. Loaded years are bounded by
+ * {@code calendar.cache-max-size} and expire after
+ * {@code calendar.cache-ttl-seconds}, so holiday edits made on another node
+ * show up within that window; HolidayService evicts immediately on this one.
+ * Employees carry no region yet, so leave uses {@code calendar.default-region}.
+ */
+@Component
+public class BusinessCalendar {
+
+    private final HolidayRepository holidayRepository;
+    private final String defaultRegion;
+    private final Set<DayOfWeek> weekendDays;
+    private final ExpiringCache<YearKey, WorkingYear> years;
+    private final long ttlMillis;
+
+    public BusinessCalendar(HolidayRepository holidayRepository,
+                            @Value("${calendar.default-region:default}") String defaultRegion,
+                            @Value("${calendar.weekend-days:SATURDAY,SUNDAY}") String weekendDays,
+                            @Value("${calendar.cache-max-size:64}") int cacheMaxSize,
+                            @Value("${calendar.cache-ttl-seconds:300}") long cacheTtlSeconds) {
+        this.holidayRepository = holidayRepository;
+        this.defaultRegion = defaultRegion;
+        this.years = new ExpiringCache<>(cacheMaxSize);
+        this.ttlMillis = cacheTtlSeconds * 1000;
+        this.weekendDays = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : weekendDays.split(",")) {
+            if (!day.isBlank()) {
+                this.weekendDays.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+    }
+
+    public String getDefaultRegion() {
+        return defaultRegion;
+    }
+
+    public boolean isWeekend(LocalDate date) {
+        return weekendDays.contains(date.getDayOfWeek());
+    }
+
+    /** Holiday name for the date in the default region, or null. */
+    public String holidayName(LocalDate date) {
+        return year(defaultRegion, date.getYear()).holidays.get(date);
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return !isWeekend(date) && holidayName(date) == null;
+    }
+
+    /** Working days in [start, end], both inclusive, in the default region. */
+    public int workingDaysBetween(LocalDate start, LocalDate end) {
+        return workingDaysBetween(start, end, defaultRegion);
+    }
+
+    public int workingDaysBetween(LocalDate start, LocalDate end, String region) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return 0;
+        }
+        String key = region != null ? region : defaultRegion;
+        if (start.getYear() == end.getYear()) {
+            return year(key, start.getYear()).between(start.getDayOfYear(), end.getDayOfYear());
+        }
+        WorkingYear first = year(key, start.getYear());
+        int days = first.between(start.getDayOfYear(), first.length());
+        for (int y = start.getYear() + 1; y < end.getYear(); y++) {
+            WorkingYear whole = year(key, y);
+            days += whole.between(1, whole.length());
+        }
+        return days + year(key, end.getYear()).between(1, end.getDayOfYear());
+    }
+
+    // Weekend and holiday flags for every day of a month calendar
+    public void markDays(CalendarResponse calendar) {
+        LocalDate date = calendar.getStartDate();
+        for (int day = 1; day <= calendar.getEndDate().getDayOfMonth(); day++, date = date.plusDays(1)) {
+            calendar.markDay(day, isWeekend(date), holidayName(date));
+        }
+    }
+
+    // Holiday edits are rare, so every loaded year is dropped rather than tracking which regions are loaded
+    public void evictAll() {
+        years.invalidateAll();
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return years.stats();
+    }
+
+    private WorkingYear year(String region, int year) {
+        YearKey key = new YearKey(region, year);
+        WorkingYear cached = years.get(key);
+        if (cached == null) {
+            // Concurrent misses may both load; the year is the same either way
+            cached = load(key);
+            years.put(key, cached, System.currentTimeMillis() + ttlMillis);
+        }
+        return cached;
+    }
+
+    private WorkingYear load(YearKey key) {
+        LocalDate first = Year.of(key.year()).atDay(1);
+        int length = Year.of(key.year()).length();
+        Map<LocalDate, String> holidays = new HashMap<>();
+        for (Holiday holiday : holidayRepository.findForRegion(first, first.plusDays(length - 1), key.region())) {
+            holidays.putIfAbsent(holiday.getDate(), holiday.getName());
+        }
+
+        // cumulative[i] = working days among the first i days of the year
+        int[] cumulative = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            LocalDate date = first.plusDays(i);
+            boolean working = !weekendDays.contains(date.getDayOfWeek()) && !holidays.containsKey(date);
+            cumulative[i + 1] = cumulative[i] + (working ? 1 : 0);
+        }
+        return new WorkingYear(cumulative, holidays);
+    }
+
+    private record YearKey(String region, int year) {
+    }
+
+    private record WorkingYear(int[] cumulative, Map<LocalDate, String> holidays) {
+
+        int length() {
+            return cumulative.length - 1;
+        }
+
+        // Days of year are 1-based and inclusive
+        int between(int fromDayOfYear, int toDayOfYear) {
+            return cumulative[toDayOfYear] - cumulative[fromDayOfYear - 1];
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.Attendance;
+import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.exception.ServiceUnavailableException;
+import com.ems.employee_backend.exception.TooManyRequestsException;
+import com.ems.employee_backend.repository.AttendanceRepository;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import com.ems.employee_backend.service.AttendanceRollupService.Contribution;
+import com.ems.employee_backend.util.LatencyHistogram;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Group-commit write path for check-ins. Requests are queued in a bounded
+ * buffer and a single writer thread inserts everything that arrived within a
+ * short window in one transaction, with one employee lookup and one batched
+ * insert per group. Each caller's future completes once its group commits;
+ * repeated check-ins for the same employee and day resolve to the same row.
+ * A full queue rejects new check-ins with a 429 instead of letting latency
+ * grow without bound. On shutdown the writer gets
+ * {@code shutdown-timeout-ms} to finish the queue; check-ins still queued
+ * after that fail with a 503 instead of waiting forever.
+ */
+@Service
+public class CheckInGroupCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckInGroupCommitter.class);
+    private static final String INSERT_SQL = "INSERT INTO attendance " +
+            "(employee_id, department_id, date, check_in_time, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMillis;
+    private final BlockingQueue<PendingCheckIn> queue;
+
+    private final LatencyHistogram commitLatency = new LatencyHistogram();
+    private final LatencyHistogram waitLatency = new LatencyHistogram();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final AtomicLong maxObservedBatch = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public CheckInGroupCommitter(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 EmployeeRepository employeeRepository,
+                                 AttendanceRepository attendanceRepository,
+                                 AttendanceRollupService attendanceRollupService,
+                                 @Value("${attendance.check-in.group-commit.enabled:false}") boolean enabled,
+                                 @Value("${attendance.check-in.group-commit.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${attendance.check-in.group-commit.max-batch-size:200}") int maxBatchSize,
+                                 @Value("${attendance.check-in.group-commit.flush-interval-ms:5}") long flushIntervalMs,
+                                 @Value("${attendance.check-in.group-commit.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.employeeRepository = employeeRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushIntervalMs));
+        this.shutdownTimeoutMillis = Math.max(0, shutdownTimeoutMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "check-in-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(shutdownTimeoutMillis);
+        }
+        // Whatever the writer did not reach in time; a batch it is still flushing completes on its own
+        List<PendingCheckIn> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        if (!abandoned.isEmpty()) {
+            logger.warn("Check-in writer stopped with {} check-ins still queued; failing them", abandoned.size());
+            failShuttingDown(abandoned);
+        }
+    }
+
+    /**
+     * Queues a check-in stamped with the current time.
+     *
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public CompletableFuture<Attendance> submit(Long employeeId) {
+        PendingCheckIn pending = new PendingCheckIn(employeeId, LocalDate.now(), LocalTime.now().truncatedTo(ChronoUnit.SECONDS),
+                System.nanoTime(), new CompletableFuture<>());
+        if (!running) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Check-in writer is shutting down, please retry shortly");
+        }
+        if (!queue.offer(pending)) {
+            rejected.increment();
+            throw new TooManyRequestsException("Check-in queue is full, please retry shortly");
+        }
+        // Lost the race with stop(): it may already have drained the queue
+        if (!running && queue.remove(pending)) {
+            failShuttingDown(List.of(pending));
+        }
+        return pending.result();
+    }
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("queued", queue.size());
+        stats.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        stats.put("batches", batchCount);
+        stats.put("committed", committed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("deduplicated", deduplicated.sum());
+        stats.put("averageBatchSize", batchCount > 0 ? (double) (committed.sum() + failed.sum()) / batchCount : 0);
+        stats.put("maxBatchSize", maxObservedBatch.get());
+        stats.put("commitLatency", commitLatency.snapshot());
+        stats.put("enqueueToCommitLatency", waitLatency.snapshot());
+        return stats;
+    }
+
+    private void runWriter() {
+        List<PendingCheckIn> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCheckIn first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Keep collecting until the window closes or the batch is full
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingCheckIn next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failShuttingDown(batch);
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Check-in writer failed", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void failShuttingDown(List<PendingCheckIn> pendings) {
+        ServiceUnavailableException shuttingDown = new ServiceUnavailableException("Check-in writer is shutting down, please retry shortly");
+        for (PendingCheckIn pending : pendings) {
+            failed.increment();
+            pending.result().completeExceptionally(shuttingDown);
+        }
+    }
+
+    private void flush(List<PendingCheckIn> batch) {
+        batches.increment();
+        maxObservedBatch.accumulateAndGet(batch.size(), Math::max);
+
+        Map<Long, Employee> employees = employeeRepository.findAllById(batch.stream()
+                        .map(PendingCheckIn::employeeId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee));
+
+        // Repeats of the same employee and day collapse onto one row and share its result
+        Map<List<Object>, List<PendingCheckIn>> callersByKey = new LinkedHashMap<>();
+        for (PendingCheckIn pending : batch) {
+            if (employees.containsKey(pending.employeeId())) {
+                callersByKey.computeIfAbsent(pending.key(), key -> new ArrayList<>()).add(pending);
+            } else {
+                failed.increment();
+                pending.result().completeExceptionally(new RuntimeException("Employee not found"));
+            }
+        }
+        if (callersByKey.isEmpty()) {
+            return;
+        }
+
+        // Employees already checked in today get their existing row back
+        Map<List<Object>, Attendance> results = new HashMap<>(findExisting(callersByKey.keySet()));
+        List<PendingCheckIn> toInsert = callersByKey.entrySet().stream()
+                .filter(entry -> !results.containsKey(entry.getKey()))
+                .map(entry -> entry.getValue().get(0))
+                .collect(Collectors.toList());
+
+        long start = System.nanoTime();
+        Set<List<Object>> inserted = new HashSet<>();
+        if (!toInsert.isEmpty()) {
+            try {
+                Map<List<Object>, Attendance> saved = transactionTemplate.execute(status -> insert(toInsert, employees));
+                results.putAll(saved);
+                inserted.addAll(saved.keySet());
+            } catch (RuntimeException e) {
+                // Retry one by one so a single bad row cannot fail everyone in the group
+                logger.warn("Group check-in commit of {} rows failed, retrying individually: {}", toInsert.size(), e.getMessage());
+                for (PendingCheckIn pending : toInsert) {
+                    try {
+                        Map<List<Object>, Attendance> saved = transactionTemplate.execute(status -> insert(List.of(pending), employees));
+                        results.putAll(saved);
+                        inserted.addAll(saved.keySet());
+                    } catch (DataIntegrityViolationException duplicate) {
+                        // Checked in concurrently through another node
+                        results.putAll(findExisting(List.of(pending.key())));
+                    } catch (RuntimeException rowError) {
+                        for (PendingCheckIn caller : callersByKey.remove(pending.key())) {
+                            failed.increment();
+                            caller.result().completeExceptionally(rowError);
+                        }
+                    }
+                }
+            }
+        }
+        long committedAt = System.nanoTime();
+        commitLatency.record(committedAt - start);
+
+        callersByKey.forEach((key, callers) -> {
+            Attendance attendance = results.get(key);
+            deduplicated.add(inserted.contains(key) ? callers.size() - 1 : callers.size());
+            for (PendingCheckIn pending : callers) {
+                if (attendance == null) {
+                    failed.increment();
+                    pending.result().completeExceptionally(new RuntimeException("Check-in could not be recorded"));
+                    continue;
+                }
+                committed.increment();
+                waitLatency.record(committedAt - pending.enqueuedAt());
+                pending.result().complete(attendance);
+            }
+        });
+    }
+
+    private Map<List<Object>, Attendance> findExisting(Collection<List<Object>> keys) {
+        Map<LocalDate, List<Long>> employeesByDate = keys.stream()
+                .collect(Collectors.groupingBy(key -> (LocalDate) key.get(1),
+                        Collectors.mapping(key -> (Long) key.get(0), Collectors.toList())));
+        Map<List<Object>, Attendance> existing = new HashMap<>();
+        employeesByDate.forEach((date, employeeIds) -> {
+            for (Attendance attendance : attendanceRepository.findByDateAndEmployeeIdIn(date, employeeIds)) {
+                existing.put(List.of(attendance.getEmployee().getId(), attendance.getDate()), attendance);
+            }
+        });
+        return existing;
+    }
+
+    private Map<List<Object>, Attendance> insert(List<PendingCheckIn> rows, Map<Long, Employee> employees) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingCheckIn pending = rows.get(i);
+                        ps.setLong(1, pending.employeeId());
+                        ps.setObject(2, employees.get(pending.employeeId()).getDepartmentId());
+                        ps.setObject(3, pending.date());
+                        ps.setObject(4, pending.checkIn());
+                        ps.setString(5, "Present");
+                        ps.setTimestamp(6, Timestamp.valueOf(now));
+                        ps.setTimestamp(7, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        Map<List<Object>, Attendance> saved = new LinkedHashMap<>();
+        List<Contribution> contributions = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            PendingCheckIn pending = rows.get(i);
+            Attendance attendance = Attendance.builder()
+                    .id(((Number) generated.get(i).values().iterator().next()).longValue())
+                    .employee(employees.get(pending.employeeId()))
+                    .departmentId(employees.get(pending.employeeId()).getDepartmentId())
+                    .date(pending.date())
+                    .checkIn(pending.checkIn())
+                    .status("Present")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            saved.put(pending.key(), attendance);
+            contributions.add(Contribution.of(attendance));
+        }
+        attendanceRollupService.addAll(contributions);
+        return saved;
+    }
+
+    private record PendingCheckIn(Long employeeId, LocalDate date, LocalTime checkIn, long enqueuedAt,
+                                  CompletableFuture<Attendance> result) {
+
+        List<Object> key() {
+            return List.of(employeeId, date);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.User;
+import com.ems.employee_backend.repository.UserRepository;
+import com.ems.employee_backend.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the latest credentials version seen for each user so that stateless
+ * JWT authentication only needs the Users table when a token carries a version
+ * this node has not seen yet. Entries expire after
+ * {@code jwt.stateless-auth.version-ttl-seconds}, so a password change made on
+ * another node stops old tokens here within that window.
+ */
+@Component
+public class CredentialsVersionTracker {
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, Integer> knownVersions;
+    private final long ttlMillis;
+
+    public CredentialsVersionTracker(UserRepository userRepository,
+                                     @Value("${jwt.stateless-auth.version-cache-max-size:10000}") int maxSize,
+                                     @Value("${jwt.stateless-auth.version-ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.knownVersions = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public boolean isCurrent(String username, int tokenVersion) {
+        Integer known = knownVersions.get(username);
+        if (known == null || tokenVersion > known) {
+            // First sighting, expired entry, or the password was changed on another node
+            known = userRepository.findByUsername(username)
+                    .map(CredentialsVersionTracker::versionOf)
+                    .orElse(null);
+            if (known == null) {
+                knownVersions.invalidate(username);
+                return false;
+            }
+            knownVersions.put(username, known, System.currentTimeMillis() + ttlMillis);
+        }
+        return tokenVersion == known;
+    }
+
+    public void forget(String username) {
+        knownVersions.invalidate(username);
+    }
+
+    public static int versionOf(User user) {
+        return user.getCredentialsVersion() != null ? user.getCredentialsVersion() : 0;
+    }
+}
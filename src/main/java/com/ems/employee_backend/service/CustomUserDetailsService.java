@@ -2,22 +2,129 @@ package com.ems.employee_backend.service;
 
 import com.ems.employee_backend.entity.User;
 import com.ems.employee_backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.ems.employee_backend.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // Immutable copies of loaded principals, bounded by size and TTL; invalidated whenever a user's
+    // credentials or profile change on this node. Other nodes' changes are caught by the version check
+    // on the login path and by the TTL everywhere else.
+    private final ExpiringCache<String, UserSnapshot> userCache;
+    private final boolean cacheEnabled;
+    private final long cacheTtlMillis;
+
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${security.user-cache.enabled:true}") boolean cacheEnabled,
+                                    @Value("${security.user-cache.max-size:1000}") int cacheMaxSize,
+                                    @Value("${security.user-cache.ttl-seconds:300}") long cacheTtlSeconds) {
+        this.userRepository = userRepository;
+        this.cacheEnabled = cacheEnabled;
+        this.userCache = new ExpiringCache<>(cacheMaxSize);
+        this.cacheTtlMillis = cacheTtlSeconds * 1000;
+    }
+
+    /**
+     * Used for password login and token refresh: a cached entry is only trusted
+     * while its credentials version still matches the Users table, so a password
+     * changed on another node is never checked against the old hash.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (cacheEnabled) {
+            UserSnapshot cached = userCache.get(username);
+            if (cached != null) {
+                Integer current = userRepository.findCredentialsVersionByUsername(username).orElse(null);
+                if (current == null) {
+                    userCache.invalidate(username);
+                    throw new UsernameNotFoundException("User not found: " + username);
+                }
+                if (current == cached.credentialsVersion()) {
+                    return cached.toUser();
+                }
+            }
+        }
+        return load(username);
+    }
+
+    /**
+     * Used by request authentication, which never looks at the password hash:
+     * trusts the cached snapshot until its TTL.
+     */
+    public UserDetails loadPrincipal(String username) throws UsernameNotFoundException {
+        if (cacheEnabled) {
+            UserSnapshot cached = userCache.get(username);
+            if (cached != null) {
+                return cached.toUser();
+            }
+        }
+        return load(username);
+    }
+
+    private User load(String username) {
+        long start = System.nanoTime();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        return user; // User implements UserDetails
+        recordLoad(System.nanoTime() - start);
+
+        if (!cacheEnabled) {
+            return user; // User implements UserDetails
+        }
+        UserSnapshot snapshot = UserSnapshot.of(user);
+        userCache.put(username, snapshot, System.currentTimeMillis() + cacheTtlMillis);
+        // Callers get their own detached copy, never the managed entity or the cached state
+        return snapshot.toUser();
+    }
+
+    public void evict(String username) {
+        userCache.invalidate(username);
+    }
+
+    public Map<String, Object> getCacheStats() {
+        long loads = loadCount.sum();
+        Map<String, Object> stats = userCache.stats();
+        stats.put("enabled", cacheEnabled);
+        stats.put("loads", loads);
+        stats.put("averageLoadMillis", loads > 0 ? loadNanos.sum() / 1_000_000.0 / loads : 0);
+        stats.put("maxLoadMillis", maxLoadNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    private void recordLoad(long nanos) {
+        loadCount.increment();
+        loadNanos.add(nanos);
+        maxLoadNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private record UserSnapshot(Long id, String username, String password, String role, String email,
+                                String firstName, String lastName, String phone, int credentialsVersion,
+                                LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static UserSnapshot of(User user) {
+            return new UserSnapshot(user.getId(), user.getUsername(), user.getPassword(), user.getRole(),
+                    user.getEmail(), user.getFirstName(), user.getLastName(), user.getPhone(),
+                    CredentialsVersionTracker.versionOf(user), user.getCreatedAt(), user.getUpdatedAt());
+        }
+
+        User toUser() {
+            return new User(id, username, password, role, email, firstName, lastName, phone,
+                    credentialsVersion, createdAt, updatedAt);
+        }
     }
 }
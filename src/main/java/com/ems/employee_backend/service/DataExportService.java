@@ -0,0 +1,234 @@
+package com.ems.employee_backend.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams table exports as NDJSON or CSV straight from a forward-only JDBC
+ * cursor. Rows are written as they are read, so memory stays constant however
+ * many rows the table holds.
+ */
+@Service
+public class DataExportService {
+
+    private static final String EMPLOYEES_SQL = "SELECT id, first_name, last_name, email, phone, job_title, " +
+            "department_id, salary, status, hire_date FROM employees ORDER BY id";
+
+    private static final String ATTENDANCE_COLUMNS = "SELECT id, employee_id, date, check_in_time AS check_in, check_out_time AS check_out, " +
+            "break_duration, status, overtime_hours, notes FROM ";
+
+    // Archived closed months first, then the hot table; no ORDER BY so neither side needs a sort
+    private static final String ATTENDANCE_SQL = ATTENDANCE_COLUMNS + "attendance_archive " +
+            "WHERE (? IS NULL OR date >= ?) AND (? IS NULL OR date <= ?) " +
+            "UNION ALL " + ATTENDANCE_COLUMNS + "attendance " +
+            "WHERE (? IS NULL OR date >= ?) AND (? IS NULL OR date <= ?)";
+
+    private static final String PAYROLL_SQL = "SELECT id, employee_id, pay_period_start, pay_period_end, base_salary, " +
+            "overtime_hours, overtime_pay, bonuses, deductions, taxes, insurance, retirement, gross_pay, net_pay, " +
+            "status, payment_date FROM payroll_records " +
+            "WHERE (? IS NULL OR pay_period_start >= ?) AND (? IS NULL OR pay_period_start <= ?) ORDER BY id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public DataExportService(DataSource dataSource) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL Connector/J streams rows one at a time only with this sentinel fetch size
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public StreamingResponseBody exportEmployees(boolean csv, boolean gzip) {
+        return stream(EMPLOYEES_SQL, new Object[0], csv, gzip);
+    }
+
+    public StreamingResponseBody exportAttendance(LocalDate from, LocalDate to, boolean csv, boolean gzip) {
+        return stream(ATTENDANCE_SQL, new Object[]{from, from, to, to, from, from, to, to}, csv, gzip);
+    }
+
+    public StreamingResponseBody exportPayroll(LocalDate from, LocalDate to, boolean csv, boolean gzip) {
+        return stream(PAYROLL_SQL, new Object[]{from, from, to, to}, csv, gzip);
+    }
+
+    /**
+     * Wraps an export body with the content type, encoding and attachment headers
+     * matching the requested format.
+     */
+    public static ResponseEntity<StreamingResponseBody> asAttachment(String baseName, boolean csv, boolean gzip,
+                                                                     StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : new MediaType("application", "x-ndjson"));
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + baseName + (csv ? ".csv" : ".ndjson") + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private StreamingResponseBody stream(String sql, Object[] args, boolean csv, boolean gzip) {
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192, true) : outputStream;
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            try {
+                streamingJdbcTemplate.query(sql, new RowWriter(writer, csv), args);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            if (gzip) {
+                ((GZIPOutputStream) target).finish();
+            }
+        };
+    }
+
+    private static final class RowWriter implements RowCallbackHandler {
+
+        private final BufferedWriter writer;
+        private final boolean csv;
+        private String[] names;
+        private int[] types;
+        private long rows = 0;
+
+        RowWriter(BufferedWriter writer, boolean csv) {
+            this.writer = writer;
+            this.csv = csv;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                if (names == null) {
+                    readColumns(rs.getMetaData());
+                }
+                if (csv) {
+                    writeCsv(rs);
+                } else {
+                    writeJson(rs);
+                }
+                // Push the first row out immediately to keep time-to-first-byte low
+                if (++rows == 1) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void readColumns(ResultSetMetaData metaData) throws SQLException, IOException {
+            int count = metaData.getColumnCount();
+            names = new String[count];
+            types = new int[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = toCamelCase(metaData.getColumnLabel(i + 1));
+                types[i] = metaData.getColumnType(i + 1);
+            }
+            if (csv) {
+                writer.write(String.join(",", names));
+                writer.write('\n');
+            }
+        }
+
+        private void writeCsv(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < names.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = rs.getString(i + 1);
+                if (value != null) {
+                    if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                        writer.write('"');
+                        writer.write(value.replace("\"", "\"\""));
+                        writer.write('"');
+                    } else {
+                        writer.write(value);
+                    }
+                }
+            }
+            writer.write('\n');
+        }
+
+        private void writeJson(ResultSet rs) throws SQLException, IOException {
+            writer.write('{');
+            for (int i = 0; i < names.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write('"');
+                writer.write(names[i]);
+                writer.write("\":");
+                String value = rs.getString(i + 1);
+                if (value == null) {
+                    writer.write("null");
+                } else if (isNumeric(types[i])) {
+                    writer.write(value);
+                } else {
+                    writeJsonString(value);
+                }
+            }
+            writer.write("}\n");
+        }
+
+        private void writeJsonString(String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+
+        private static boolean isNumeric(int type) {
+            return switch (type) {
+                case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT,
+                     Types.DOUBLE, Types.FLOAT, Types.REAL, Types.DECIMAL, Types.NUMERIC -> true;
+                default -> false;
+            };
+        }
+
+        private static String toCamelCase(String column) {
+            StringBuilder name = new StringBuilder(column.length());
+            boolean upper = false;
+            for (char c : column.toLowerCase().toCharArray()) {
+                if (c == '_') {
+                    upper = true;
+                } else {
+                    name.append(upper ? Character.toUpperCase(c) : c);
+                    upper = false;
+                }
+            }
+            return name.toString();
+        }
+    }
+}
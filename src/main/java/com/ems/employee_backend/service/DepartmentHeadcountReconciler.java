@@ -0,0 +1,38 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.repository.DepartmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes every department headcount and rewrites the ones that drifted
+ * from the incrementally maintained Department.employees column (e.g. after
+ * manual SQL or an interrupted write). The recount is a single UPDATE joined
+ * to a GROUP BY over employees, so it never writes back a snapshot that a
+ * concurrent adjustEmployees has moved past. Runs at startup, which also
+ * backfills the column on existing databases, and then on a cron.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentHeadcountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentHeadcountReconciler.class);
+
+    private final DepartmentRepository departmentRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${departments.headcount.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        int corrected = departmentRepository.recountEmployees();
+        if (corrected > 0) {
+            logger.warn("Corrected headcount drift on {} department(s)", corrected);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.Department;
+import com.ems.employee_backend.repository.DepartmentRepository;
+import com.ems.employee_backend.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Department id -> name lookups for response mapping. Misses for a whole page
+ * of rows are fetched with a single IN query; DepartmentService evicts entries
+ * whenever a department is created, renamed or deleted.
+ */
+@Component
+public class DepartmentNameCache {
+
+    private final DepartmentRepository departmentRepository;
+    private final ExpiringCache<Long, String> names;
+    private final long ttlMillis;
+
+    public DepartmentNameCache(DepartmentRepository departmentRepository,
+                               @Value("${departments.name-cache.max-size:1000}") int maxSize,
+                               @Value("${departments.name-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.departmentRepository = departmentRepository;
+        this.names = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public String getName(Long departmentId) {
+        if (departmentId == null) {
+            return null;
+        }
+        return resolveNames(Set.of(departmentId)).get(departmentId);
+    }
+
+    public Map<Long, String> resolveNames(Collection<Long> departmentIds) {
+        Map<Long, String> resolved = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long id : departmentIds) {
+            if (id == null || resolved.containsKey(id)) {
+                continue;
+            }
+            String name = names.get(id);
+            if (name != null) {
+                resolved.put(id, name);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            for (Department department : departmentRepository.findAllById(missing)) {
+                resolved.put(department.getId(), department.getName());
+                names.put(department.getId(), department.getName(), expiresAt);
+            }
+        }
+        return resolved;
+    }
+
+    public void evict(Long departmentId) {
+        names.invalidate(departmentId);
+    }
+
+    public Map<String, Object> getStats() {
+        return names.stats();
+    }
+}
@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final DepartmentNameCache departmentNameCache;
 
     public DepartmentResponse create(DepartmentRequest request) {
         if (departmentRepository.existsByName(request.getName())) {
@@ -29,6 +30,7 @@ public class DepartmentService {
                 .description(request.getDescription())
                 .build();
         Department savedDepartment = departmentRepository.save(dept);
+        departmentNameCache.evict(savedDepartment.getId());
         return convertToResponse(savedDepartment);
     }
 
@@ -43,7 +45,7 @@ public class DepartmentService {
         stats.put("total", departmentRepository.count());
         
         // Count active employees across all departments
-        Long activeEmployees = (long)employeeRepository.findByStatus("active").size();
+        Long activeEmployees = employeeRepository.countByStatus("active");
         stats.put("activeEmployees", activeEmployees);
         
         return stats;
@@ -65,6 +67,7 @@ public class DepartmentService {
         }
         
         Department updatedDepartment = departmentRepository.save(department);
+        departmentNameCache.evict(id);
         return convertToResponse(updatedDepartment);
     }
 
@@ -79,6 +82,7 @@ public class DepartmentService {
         }
         
         departmentRepository.deleteById(id);
+        departmentNameCache.evict(id);
     }
 
     private DepartmentResponse convertToResponse(Department department) {
@@ -86,7 +90,7 @@ public class DepartmentService {
         response.setId(department.getId());
         response.setName(department.getName());
         response.setDescription(department.getDescription());
-        response.setEmployees(employeeRepository.countByDepartmentId(department.getId()));
+        response.setEmployees(department.getEmployees() != null ? department.getEmployees() : 0L);
         return response;
     }
 }
@@ -2,11 +2,14 @@ package com.ems.employee_backend.service;
 
 import com.ems.employee_backend.dto.DocumentRequest;
 import com.ems.employee_backend.dto.DocumentResponse;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.entity.Document;
 import com.ems.employee_backend.entity.Employee;
 import com.ems.employee_backend.repository.DocumentRepository;
 import com.ems.employee_backend.repository.EmployeeRepository;
+import com.ems.employee_backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -47,6 +50,12 @@ public class DocumentService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<DocumentResponse> getPage(String cursor, int size) {
+        List<Document> rows = documentRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), PageRequest.ofSize(size + 1));
+        return PageResponse.fromRows(rows, size, document -> KeysetCursor.encode(document.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()));
+    }
+
     public DocumentResponse getById(Long id) {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
@@ -0,0 +1,294 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.dto.EmployeeImportError;
+import com.ems.employee_backend.dto.EmployeeImportResponse;
+import com.ems.employee_backend.dto.EmployeeRequest;
+import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.repository.DepartmentRepository;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams CSV or NDJSON employee rows from a request body and writes them in
+ * JDBC batches. Only one batch is held in memory at a time, so memory use does
+ * not grow with file size. Bad rows are reported individually and never abort
+ * the rest of the file.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String INSERT_SQL = "INSERT INTO employees " +
+            "(first_name, last_name, email, job_title, status, hire_date, department_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentNameCache departmentNameCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public EmployeeImportService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 EmployeeRepository employeeRepository,
+                                 DepartmentRepository departmentRepository,
+                                 DepartmentNameCache departmentNameCache,
+                                 EmployeeSearchIndex employeeSearchIndex,
+                                 ObjectMapper objectMapper,
+                                 @Value("${employees.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.departmentNameCache = departmentNameCache;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public EmployeeImportResponse importEmployees(InputStream body, String format, String contentType) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format)
+                || (format == null && contentType != null && contentType.startsWith("text/csv"));
+
+        EmployeeImportResponse result = new EmployeeImportResponse();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String[] header = null;
+        int lineNumber = 0;
+        if (csv) {
+            String headerLine = reader.readLine();
+            lineNumber++;
+            if (headerLine == null) {
+                return result;
+            }
+            header = parseCsvLine(headerLine).toArray(new String[0]);
+        }
+
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setTotalRows(result.getTotalRows() + 1);
+            try {
+                EmployeeRequest request = csv ? parseCsvRow(header, line) : objectMapper.readValue(line, EmployeeRequest.class);
+                batch.add(new ImportRow(lineNumber, request));
+            } catch (RuntimeException e) {
+                recordError(result, lineNumber, null, "Malformed row: " + e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, result);
+                batch.clear();
+            }
+        }
+        flush(batch, result);
+
+        logger.info("Employee import finished: {} rows, {} imported, {} failed",
+                result.getTotalRows(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void flush(List<ImportRow> batch, EmployeeImportResponse result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ImportRow> valid = validate(batch, result);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(valid);
+                adjustHeadcounts(valid);
+            });
+            result.setImported(result.getImported() + valid.size());
+        } catch (DataAccessException e) {
+            // Something in the batch violated a constraint: retry row by row to isolate it
+            for (ImportRow row : valid) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        insert(List.of(row));
+                        adjustHeadcounts(List.of(row));
+                    });
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    recordError(result, row.line(), row.request().getEmail(),
+                            "Could not insert: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        // Rows were written with plain JDBC, so bring the search index up to date explicitly
+        for (Employee employee : employeeRepository.findByEmailIn(valid.stream()
+                .map(row -> row.request().getEmail())
+                .collect(Collectors.toList()))) {
+            employeeSearchIndex.put(employee);
+        }
+    }
+
+    private List<ImportRow> validate(List<ImportRow> batch, EmployeeImportResponse result) {
+        // One IN query per batch for existing emails and one for departments
+        Set<String> existingEmails = employeeRepository.findExistingEmails(batch.stream()
+                        .map(row -> row.request().getEmail())
+                        .filter(email -> email != null && !email.isBlank())
+                        .map(String::trim)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Map<Long, String> departments = departmentNameCache.resolveNames(batch.stream()
+                .map(row -> row.request().getDepartmentId())
+                .collect(Collectors.toSet()));
+
+        Set<String> seenInBatch = new HashSet<>();
+        List<ImportRow> valid = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            EmployeeRequest request = row.request();
+            String email = request.getEmail() != null ? request.getEmail().trim() : null;
+            String key = email != null ? email.toLowerCase(Locale.ROOT) : null;
+
+            String error = null;
+            if (email == null || email.isEmpty()) {
+                error = "Email is required";
+            } else if (!email.contains("@")) {
+                error = "Email is invalid";
+            } else if (existingEmails.contains(key)) {
+                error = "Email already exists";
+            } else if (!seenInBatch.add(key)) {
+                error = "Duplicate email in import";
+            } else if (request.getDepartmentId() != null && !departments.containsKey(request.getDepartmentId())) {
+                error = "Department not found: " + request.getDepartmentId();
+            }
+
+            if (error != null) {
+                recordError(result, row.line(), email, error);
+            } else {
+                request.setEmail(email);
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private void insert(List<ImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            EmployeeRequest request = row.request();
+            args.add(new Object[]{
+                    request.getFirstName(),
+                    request.getLastName(),
+                    request.getEmail(),
+                    request.getPosition(),
+                    request.getStatus(),
+                    request.getStartDate(),
+                    request.getDepartmentId(),
+                    now,
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    private void adjustHeadcounts(List<ImportRow> rows) {
+        Map<Long, Long> added = rows.stream()
+                .map(row -> row.request().getDepartmentId())
+                .filter(departmentId -> departmentId != null)
+                .collect(Collectors.groupingBy(departmentId -> departmentId, Collectors.counting()));
+        added.forEach(departmentRepository::adjustEmployees);
+    }
+
+    private void recordError(EmployeeImportResponse result, int line, String email, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new EmployeeImportError(line, email, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private EmployeeRequest parseCsvRow(String[] header, String line) {
+        List<String> values = parseCsvLine(line);
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            row.put(header[i].trim(), value.isEmpty() ? null : value);
+        }
+
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName(row.get("firstName"));
+        request.setLastName(row.get("lastName"));
+        request.setEmail(row.get("email"));
+        request.setPosition(row.get("position"));
+        request.setStatus(row.get("status"));
+        if (row.get("startDate") != null) {
+            request.setStartDate(LocalDate.parse(row.get("startDate")));
+        }
+        if (row.get("departmentId") != null) {
+            request.setDepartmentId(Long.parseLong(row.get("departmentId")));
+        }
+        return request;
+    }
+
+    // Minimal RFC 4180 field splitting: quoted fields and doubled quotes, one record per line
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record ImportRow(int line, EmployeeRequest request) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over employee first name, last name, email
+ * and job title. Answers the same substring matches as
+ * EmployeeRepository.searchEmployees, ranked, without a table scan. Writes made
+ * inside a transaction reach the index only after it commits. Nothing is built
+ * or maintained when {@code employees.search.index-enabled} is false.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedEmployee> documents = new HashMap<>();
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+    private volatile boolean ready = false;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               @Value("${employees.search.index-enabled:true}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<Employee> batch;
+        do {
+            batch = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(BUILD_BATCH_SIZE));
+            for (Employee employee : batch) {
+                put(employee);
+                afterId = employee.getId();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+        ready = true;
+        logger.info("Built employee search index: {} employees, {} trigrams in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Employee employee) {
+        if (!enabled) {
+            return;
+        }
+        // Snapshot the fields now; the entity may change again before the commit
+        IndexedEmployee document = new IndexedEmployee(employee.getId(),
+                normalize(employee.getFirstName()), normalize(employee.getLastName()),
+                normalize(employee.getEmail()), normalize(employee.getJobTitle()));
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(document.id);
+                documents.put(document.id, document);
+                for (long trigram : document.trigrams()) {
+                    postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(document.id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long employeeId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(employeeId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // A rolled-back write never reaches the index; outside a transaction the change applies at once
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Returns ids of employees whose indexed fields contain {@code query}, best matches first.
+     */
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<ScoredMatch> matches = new ArrayList<>();
+            for (IndexedEmployee document : candidates(q)) {
+                int score = document.score(q);
+                if (score > 0) {
+                    matches.add(new ScoredMatch(document.id, score));
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingInt(ScoredMatch::score).reversed()
+                            .thenComparingLong(ScoredMatch::id))
+                    .limit(limit)
+                    .map(ScoredMatch::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Iterable<IndexedEmployee> candidates(String q) {
+        if (q.length() < 3) {
+            // Too short for trigrams: verify every document directly
+            return documents.values();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (long trigram : trigramsOf(q)) {
+            Set<Long> posting = postings.get(trigram);
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<IndexedEmployee> candidates = new ArrayList<>();
+        outer:
+        for (Long id : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue outer;
+                }
+            }
+            candidates.add(documents.get(id));
+        }
+        return candidates;
+    }
+
+    private void removeLocked(Long employeeId) {
+        IndexedEmployee previous = documents.remove(employeeId);
+        if (previous == null) {
+            return;
+        }
+        for (long trigram : previous.trigrams()) {
+            Set<Long> posting = postings.get(trigram);
+            if (posting != null) {
+                posting.remove(employeeId);
+                if (posting.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> trigramsOf(String value) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            trigrams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private record ScoredMatch(long id, int score) {
+    }
+
+    private record IndexedEmployee(Long id, String firstName, String lastName, String email, String jobTitle) {
+
+        Set<Long> trigrams() {
+            Set<Long> trigrams = new HashSet<>();
+            trigrams.addAll(trigramsOf(firstName));
+            trigrams.addAll(trigramsOf(lastName));
+            trigrams.addAll(trigramsOf(email));
+            trigrams.addAll(trigramsOf(jobTitle));
+            return trigrams;
+        }
+
+        // Names outrank email and job title; exact beats prefix beats substring
+        int score(String q) {
+            return Math.max(Math.max(fieldScore(firstName, q, 3), fieldScore(lastName, q, 3)),
+                    Math.max(fieldScore(email, q, 2), fieldScore(jobTitle, q, 1)));
+        }
+
+        private static int fieldScore(String field, String q, int weight) {
+            if (field.equals(q)) {
+                return weight * 100;
+            }
+            if (field.startsWith(q)) {
+                return weight * 10;
+            }
+            return field.contains(q) ? weight : 0;
+        }
+    }
+}
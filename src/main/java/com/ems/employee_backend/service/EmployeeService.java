@@ -2,16 +2,23 @@ package com.ems.employee_backend.service;
 
 import com.ems.employee_backend.dto.EmployeeRequest;
 import com.ems.employee_backend.dto.EmployeeResponse;
-import com.ems.employee_backend.entity.Department;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.entity.Employee;
 import com.ems.employee_backend.repository.DepartmentRepository;
 import com.ems.employee_backend.repository.EmployeeRepository;
+import com.ems.employee_backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,8 +27,12 @@ public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
+    private final DepartmentNameCache departmentNameCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
+
     private static final Logger logger= LoggerFactory.getLogger(EmployeeService.class);
 
+    @Transactional
     public EmployeeResponse create(EmployeeRequest request) {
         Employee emp = Employee.builder()
                 .firstName(request.getFirstName())
@@ -34,12 +45,17 @@ public class EmployeeService {
                 .build();
         logger.info("Created Employee in DB");
         Employee savedEmployee = employeeRepository.save(emp);
+        adjustHeadcount(savedEmployee.getDepartmentId(), 1);
+        employeeSearchIndex.put(savedEmployee);
         return convertToResponse(savedEmployee);
     }
     public List<EmployeeResponse> getAll() {
-        return employeeRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(employeeRepository.findAll());
+    }
+
+    public PageResponse<EmployeeResponse> getPage(String cursor, int size) {
+        List<Employee> rows = employeeRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), PageRequest.ofSize(size + 1));
+        return PageResponse.fromRows(rows, size, employee -> KeysetCursor.encode(employee.getId()), this::convertToResponses);
     }
 
     public EmployeeResponse getById(Long id) {
@@ -48,27 +64,26 @@ public class EmployeeService {
         return convertToResponse(employee);
     }
 
-    public List<EmployeeResponse> searchEmployees(String query) {
-        return employeeRepository.searchEmployees(query).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<EmployeeResponse> searchEmployees(String query, int limit) {
+        if (!useSearchIndex()) {
+            return convertToResponses(employeeRepository.searchEmployees(query).stream().limit(limit).toList());
+        }
+        return convertToResponses(findRanked(employeeSearchIndex.search(query, limit)));
     }
 
     public List<EmployeeResponse> filterByDepartment(String department) {
-        return employeeRepository.findByDepartmentName(department).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(employeeRepository.findByDepartmentName(department));
     }
 
     public List<EmployeeResponse> filterByStatus(String status) {
-        return employeeRepository.findByStatus(status).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(employeeRepository.findByStatus(status));
     }
 
+    @Transactional
     public EmployeeResponse update(Long id, EmployeeRequest request) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
+        Long previousDepartmentId = employee.getDepartmentId();
         
         if (request.getFirstName() != null) employee.setFirstName(request.getFirstName());
         if (request.getLastName() != null) employee.setLastName(request.getLastName());
@@ -79,17 +94,58 @@ public class EmployeeService {
         if (request.getDepartmentId() != null) employee.setDepartmentId(request.getDepartmentId());
         
         Employee updatedEmployee = employeeRepository.save(employee);
+        if (!Objects.equals(previousDepartmentId, updatedEmployee.getDepartmentId())) {
+            adjustHeadcount(previousDepartmentId, -1);
+            adjustHeadcount(updatedEmployee.getDepartmentId(), 1);
+        }
+        employeeSearchIndex.put(updatedEmployee);
         return convertToResponse(updatedEmployee);
     }
 
+    @Transactional
     public void delete(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new RuntimeException("Employee not found");
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        employeeRepository.delete(employee);
+        adjustHeadcount(employee.getDepartmentId(), -1);
+        employeeSearchIndex.remove(id);
+    }
+
+    private void adjustHeadcount(Long departmentId, long delta) {
+        if (departmentId != null) {
+            departmentRepository.adjustEmployees(departmentId, delta);
         }
-        employeeRepository.deleteById(id);
+    }
+
+    private boolean useSearchIndex() {
+        return employeeSearchIndex.isReady();
+    }
+
+    // Loads employees by id, keeping the ranked order and dropping ids deleted since indexing
+    private List<Employee> findRanked(List<Long> ids) {
+        Map<Long, Employee> byId = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Resolves department names for the whole list with one IN query instead of one lookup per row
+    private List<EmployeeResponse> convertToResponses(List<Employee> employees) {
+        Map<Long, String> departmentNames = departmentNameCache.resolveNames(employees.stream()
+                .map(Employee::getDepartmentId)
+                .collect(Collectors.toSet()));
+        return employees.stream()
+                .map(employee -> convertToResponse(employee, departmentNames))
+                .collect(Collectors.toList());
     }
 
     private EmployeeResponse convertToResponse(Employee employee) {
+        return convertToResponse(employee, departmentNameCache.resolveNames(Collections.singletonList(employee.getDepartmentId())));
+    }
+
+    private EmployeeResponse convertToResponse(Employee employee, Map<Long, String> departmentNames) {
         EmployeeResponse response = new EmployeeResponse();
         response.setId(employee.getId());
         response.setFirstName(employee.getFirstName());
@@ -100,9 +156,7 @@ public class EmployeeService {
         
         // Set department name if departmentId exists
         if (employee.getDepartmentId() != null) {
-            Department department = departmentRepository.findById(employee.getDepartmentId())
-                    .orElse(null);
-            response.setDepartment(department != null ? department.getName() : null);
+            response.setDepartment(departmentNames.get(employee.getDepartmentId()));
         }
         
         response.setStatus(employee.getStatus());
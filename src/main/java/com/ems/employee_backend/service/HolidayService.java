@@ -0,0 +1,68 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.dto.HolidayRequest;
+import com.ems.employee_backend.dto.HolidayResponse;
+import com.ems.employee_backend.entity.Holiday;
+import com.ems.employee_backend.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class HolidayService {
+
+    private final HolidayRepository holidayRepository;
+    private final BusinessCalendar businessCalendar;
+
+    public HolidayResponse create(HolidayRequest request) {
+        if (request.getDate() == null || request.getName() == null || request.getName().isBlank()) {
+            throw new RuntimeException("Holiday date and name are required");
+        }
+        String region = normalizeRegion(request.getRegion());
+        if (holidayRepository.existsByDateAndRegion(request.getDate(), region)) {
+            throw new RuntimeException("A holiday is already defined on " + request.getDate()
+                    + (region != null ? " for region " + region : " for all regions"));
+        }
+
+        Holiday holiday = Holiday.builder()
+                .date(request.getDate())
+                .name(request.getName())
+                .region(region)
+                .build();
+        Holiday savedHoliday = holidayRepository.save(holiday);
+        businessCalendar.evictAll();
+        return convertToResponse(savedHoliday);
+    }
+
+    // Holidays that apply in the region (the default one when not given), including those for every region
+    public List<HolidayResponse> getByYear(int year, String region) {
+        String effectiveRegion = region != null && !region.isBlank() ? region.trim() : businessCalendar.getDefaultRegion();
+        return holidayRepository.findForRegion(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), effectiveRegion).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    public void delete(Long id) {
+        Holiday holiday = holidayRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Holiday not found"));
+        holidayRepository.delete(holiday);
+        businessCalendar.evictAll();
+    }
+
+    private String normalizeRegion(String region) {
+        return region == null || region.isBlank() ? null : region.trim();
+    }
+
+    private HolidayResponse convertToResponse(Holiday holiday) {
+        HolidayResponse response = new HolidayResponse();
+        response.setId(holiday.getId());
+        response.setDate(holiday.getDate());
+        response.setName(holiday.getName());
+        response.setRegion(holiday.getRegion());
+        return response;
+    }
+}
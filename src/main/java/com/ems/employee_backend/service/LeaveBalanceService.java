@@ -0,0 +1,292 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.LeaveBalance;
+import com.ems.employee_backend.entity.LeaveLedgerEntry;
+import com.ems.employee_backend.entity.LeaveRequest;
+import com.ems.employee_backend.repository.LeaveBalanceRepository;
+import com.ems.employee_backend.repository.LeaveLedgerEntryRepository;
+import com.ems.employee_backend.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Leave balance ledger. Every change to a balance is appended to
+ * leave_ledger_entries and applied to the matching leave_balances row in the
+ * same transaction, so reading a balance is one indexed lookup and approving
+ * leave checks a single locked row instead of rescanning the year's requests.
+ *
+ * <p>A year's rows are opened when leave is first charged to it, with one
+ * accrual entry per leave type and, for annual leave, a carry-over of the
+ * previous year's remaining days up to {@code leave.balance.carry-over-max-days}.
+ * Reading a year that is not open yet reports those opening values without
+ * writing anything. Leave counts against
+ * the year it starts in and is charged in working days (BusinessCalendar).
+ * Types without an allowance (e.g. unpaid) are not tracked.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaveBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveBalanceService.class);
+
+    // Yearly allowance per leave type, in days
+    private static final Map<String, Integer> ALLOWANCES = new LinkedHashMap<>();
+
+    static {
+        ALLOWANCES.put("annual", 21);
+        ALLOWANCES.put("sick", 10);
+        ALLOWANCES.put("personal", 7);
+        ALLOWANCES.put("maternity", 90);
+        ALLOWANCES.put("paternity", 15);
+    }
+
+    private static final String CARRY_OVER_TYPE = "annual";
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveLedgerEntryRepository leaveLedgerEntryRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final BusinessCalendar businessCalendar;
+
+    @Value("${leave.balance.carry-over-max-days:5}")
+    private int carryOverMaxDays;
+
+    public static boolean isTracked(String leaveType) {
+        return leaveType != null && ALLOWANCES.containsKey(leaveType);
+    }
+
+    // Working days, so weekends and holidays inside the leave are not charged
+    private int days(LeaveRequest leave) {
+        return businessCalendar.workingDaysBetween(leave.getStartDate(), leave.getEndDate());
+    }
+
+    /**
+     * The employee's balances for a year, one per tracked leave type. Types not
+     * opened yet come back as unsaved rows holding their opening values.
+     */
+    @Transactional(readOnly = true)
+    public List<LeaveBalance> getBalances(Long employeeId, int year) {
+        List<LeaveBalance> balances = new ArrayList<>(leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year));
+        if (balances.size() >= ALLOWANCES.size()) {
+            return balances;
+        }
+        Set<String> opened = new HashSet<>();
+        balances.forEach(balance -> opened.add(balance.getLeaveType()));
+        ALLOWANCES.forEach((type, allowance) -> {
+            if (!opened.contains(type)) {
+                int carryOver = type.equals(CARRY_OVER_TYPE)
+                        ? carryOverFrom(leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year - 1).stream()
+                                .filter(previous -> previous.getLeaveType().equals(type)).findFirst().orElse(null))
+                        : 0;
+                balances.add(LeaveBalance.builder().employeeId(employeeId).year(year).leaveType(type)
+                        .accruedDays(allowance).carriedOverDays(carryOver).usedDays(0).build());
+            }
+        });
+        return balances;
+    }
+
+    /**
+     * Records the leave as used, failing when the balance does not cover it.
+     * Must run in the caller's transaction, before the request is marked approved.
+     */
+    @Transactional
+    public void recordUsage(LeaveRequest leave) {
+        String shortfall = tryRecordUsage(leave);
+        if (shortfall != null) {
+            throw new RuntimeException(shortfall);
+        }
+    }
+
+    /**
+     * Like {@link #recordUsage} but reports an uncovered request instead of
+     * throwing, so a batch can carry on in the same transaction (an exception
+     * crossing this bean would mark it rollback-only). Returns null when the
+     * usage was recorded, otherwise the reason it was not.
+     */
+    @Transactional
+    public String tryRecordUsage(LeaveRequest leave) {
+        if (!isTracked(leave.getLeaveType())) {
+            return null;
+        }
+        int days = days(leave);
+        LeaveBalance balance = lockBalance(leave.getEmployee().getId(), leave.getStartDate().getYear(), leave.getLeaveType());
+        if (balance.getRemainingDays() < days) {
+            return "Insufficient " + leave.getLeaveType() + " leave balance: "
+                    + balance.getRemainingDays() + " day(s) remaining, " + days + " requested";
+        }
+        apply(balance, "usage", -days, leave.getId());
+        refreshCarryOver(balance);
+        return null;
+    }
+
+    /**
+     * Gives back the days of previously approved leave that is being rejected
+     * or deleted: exactly what the ledger charged for it, even if holidays
+     * changed since.
+     */
+    @Transactional
+    public void reverseUsage(LeaveRequest leave) {
+        if (!isTracked(leave.getLeaveType())) {
+            return;
+        }
+        LeaveBalance balance = lockBalance(leave.getEmployee().getId(), leave.getStartDate().getYear(), leave.getLeaveType());
+        long charged = -leaveLedgerEntryRepository.sumDaysByLeaveRequestId(leave.getId());
+        if (charged > 0) {
+            apply(balance, "usage_reversal", (int) charged, leave.getId());
+            refreshCarryOver(balance);
+        }
+    }
+
+    /**
+     * Drops the ledger and replays it from approved leave requests: accrual and
+     * carry-over for every employee-year that had balances or approved leave,
+     * then one usage entry per approved request.
+     */
+    @Transactional
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, TreeSet<Integer>> years = new HashMap<>();
+        for (LeaveBalance balance : leaveBalanceRepository.findAll()) {
+            years.computeIfAbsent(balance.getEmployeeId(), id -> new TreeSet<>()).add(balance.getYear());
+        }
+        Map<Long, TreeMap<Integer, List<LeaveRequest>>> approved = new HashMap<>();
+        for (LeaveRequest leave : leaveRequestRepository.findApprovedForLedger()) {
+            Long employeeId = leave.getEmployee().getId();
+            int year = leave.getStartDate().getYear();
+            years.computeIfAbsent(employeeId, id -> new TreeSet<>()).add(year);
+            approved.computeIfAbsent(employeeId, id -> new TreeMap<>())
+                    .computeIfAbsent(year, y -> new ArrayList<>())
+                    .add(leave);
+        }
+
+        leaveLedgerEntryRepository.deleteAllRows();
+        leaveBalanceRepository.deleteAllRows();
+
+        List<LeaveBalance> balances = new ArrayList<>();
+        List<LeaveLedgerEntry> entries = new ArrayList<>();
+        years.forEach((employeeId, employeeYears) -> {
+            Map<String, LeaveBalance> previousYear = null;
+            int previous = Integer.MIN_VALUE;
+            for (int year : employeeYears) {
+                int carryOver = previousYear != null && previous == year - 1
+                        ? carryOverFrom(previousYear.get(CARRY_OVER_TYPE)) : 0;
+                Map<String, LeaveBalance> current = new HashMap<>();
+                ALLOWANCES.forEach((type, allowance) -> {
+                    entries.add(entry(employeeId, year, type, "accrual", allowance, null));
+                    current.put(type, LeaveBalance.builder().employeeId(employeeId).year(year).leaveType(type)
+                            .accruedDays(allowance).carriedOverDays(0).usedDays(0).build());
+                });
+                if (carryOver > 0) {
+                    entries.add(entry(employeeId, year, CARRY_OVER_TYPE, "carry_over", carryOver, null));
+                    current.get(CARRY_OVER_TYPE).setCarriedOverDays(carryOver);
+                }
+                for (LeaveRequest leave : approved.getOrDefault(employeeId, new TreeMap<>()).getOrDefault(year, List.of())) {
+                    LeaveBalance balance = current.get(leave.getLeaveType());
+                    if (balance != null) {
+                        int days = days(leave);
+                        entries.add(entry(employeeId, year, leave.getLeaveType(), "usage", -days, leave.getId()));
+                        balance.setUsedDays(balance.getUsedDays() + days);
+                    }
+                }
+                balances.addAll(current.values());
+                previousYear = current;
+                previous = year;
+            }
+        });
+        leaveBalanceRepository.saveAll(balances);
+        leaveLedgerEntryRepository.saveAll(entries);
+
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Rebuilt leave ledger: {} balances, {} entries in {} ms", balances.size(), entries.size(), elapsed);
+        Map<String, Object> result = new HashMap<>();
+        result.put("balances", balances.size());
+        result.put("entries", entries.size());
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    private LeaveBalance lockBalance(Long employeeId, int year, String leaveType) {
+        return leaveBalanceRepository.findForUpdate(employeeId, year, leaveType).orElseGet(() -> {
+            openYear(employeeId, year);
+            return leaveBalanceRepository.findForUpdate(employeeId, year, leaveType)
+                    .orElseThrow(() -> new IllegalStateException("Leave balance missing after opening " + year));
+        });
+    }
+
+    // Creates whichever of the year's balances do not exist yet. Concurrent openers meet on uk_leave_balance:
+    // the loser's insert is ignored instead of failing, and only the row that landed gets ledger entries
+    private void openYear(Long employeeId, int year) {
+        Set<String> existing = new HashSet<>();
+        leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year)
+                .forEach(balance -> existing.add(balance.getLeaveType()));
+        ALLOWANCES.forEach((type, allowance) -> {
+            if (existing.contains(type)) {
+                return;
+            }
+            int carryOver = type.equals(CARRY_OVER_TYPE)
+                    ? leaveBalanceRepository.findForUpdate(employeeId, year - 1, type).map(this::carryOverFrom).orElse(0)
+                    : 0;
+            if (leaveBalanceRepository.insertIfAbsent(employeeId, year, type, allowance, carryOver) == 0) {
+                return;
+            }
+            leaveLedgerEntryRepository.save(entry(employeeId, year, type, "accrual", allowance, null));
+            if (carryOver > 0) {
+                leaveLedgerEntryRepository.save(entry(employeeId, year, type, "carry_over", carryOver, null));
+            }
+        });
+    }
+
+    // Usage landing in a year whose successor is already open moves that year's carry-over with it
+    private void refreshCarryOver(LeaveBalance balance) {
+        if (!balance.getLeaveType().equals(CARRY_OVER_TYPE)) {
+            return;
+        }
+        leaveBalanceRepository.findForUpdate(balance.getEmployeeId(), balance.getYear() + 1, CARRY_OVER_TYPE)
+                .ifPresent(next -> {
+                    int delta = carryOverFrom(balance) - next.getCarriedOverDays();
+                    if (delta != 0) {
+                        next.setCarriedOverDays(next.getCarriedOverDays() + delta);
+                        leaveBalanceRepository.save(next);
+                        leaveLedgerEntryRepository.save(entry(next.getEmployeeId(), next.getYear(), CARRY_OVER_TYPE,
+                                "carry_over", delta, null));
+                        refreshCarryOver(next);
+                    }
+                });
+    }
+
+    private int carryOverFrom(LeaveBalance previous) {
+        return previous == null ? 0 : Math.min(Math.max(previous.getRemainingDays(), 0), carryOverMaxDays);
+    }
+
+    private void apply(LeaveBalance balance, String entryType, int days, Long leaveRequestId) {
+        balance.setUsedDays(balance.getUsedDays() - days);
+        leaveBalanceRepository.save(balance);
+        leaveLedgerEntryRepository.save(entry(balance.getEmployeeId(), balance.getYear(), balance.getLeaveType(),
+                entryType, days, leaveRequestId));
+    }
+
+    private static LeaveLedgerEntry entry(Long employeeId, int year, String leaveType, String entryType,
+                                          int days, Long leaveRequestId) {
+        return LeaveLedgerEntry.builder()
+                .employeeId(employeeId)
+                .year(year)
+                .leaveType(leaveType)
+                .entryType(entryType)
+                .days(days)
+                .leaveRequestId(leaveRequestId)
+                .build();
+    }
+}
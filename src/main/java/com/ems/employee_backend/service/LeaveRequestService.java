@@ -1,16 +1,36 @@
 package com.ems.employee_backend.service;
 
+import com.ems.employee_backend.dto.CalendarEntry;
+import com.ems.employee_backend.dto.CalendarResponse;
+import com.ems.employee_backend.dto.EmployeeLeaveReport;
+import com.ems.employee_backend.dto.LeaveBulkDecisionRequest;
+import com.ems.employee_backend.dto.LeaveBulkDecisionResponse;
+import com.ems.employee_backend.dto.LeaveCalendarRow;
+import com.ems.employee_backend.dto.LeaveDecision;
+import com.ems.employee_backend.dto.LeaveReportResponse;
+import com.ems.employee_backend.dto.LeaveReportTotals;
 import com.ems.employee_backend.dto.LeaveRequestRequest;
 import com.ems.employee_backend.dto.LeaveRequestResponse;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.entity.LeaveBalance;
 import com.ems.employee_backend.entity.LeaveRequest;
 import com.ems.employee_backend.repository.EmployeeRepository;
 import com.ems.employee_backend.repository.LeaveRequestRepository;
+import com.ems.employee_backend.util.IntervalIndex;
+import com.ems.employee_backend.util.KeysetCursor;
+import com.ems.employee_backend.util.LongKeyedMap;
+import com.ems.employee_backend.util.ReportEngine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.DateTimeException;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,10 +40,31 @@ public class LeaveRequestService {
 
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
+    private final LeaveBalanceService leaveBalanceService;
+    private final BusinessCalendar businessCalendar;
 
+    private static final String[] LEAVE_CALENDAR_COUNTERS = {"annual", "sick", "personal", "maternity", "paternity"};
+
+    @Value("${leave.bulk-decision.max-batch-size:500}")
+    private int bulkDecisionMaxBatchSize;
+
+    // Longest single request; also bounds how many calendar years one request makes BusinessCalendar load
+    @Value("${leave.request.max-days:366}")
+    private int maxRequestDays;
+
+    @Transactional
     public LeaveRequestResponse create(LeaveRequestRequest request) {
-        Employee employee = employeeRepository.findById(request.getEmployeeId())
+        if (request.getStartDate() == null || request.getEndDate() == null || request.getEndDate().isBefore(request.getStartDate())) {
+            throw new RuntimeException("Leave request needs a start date on or before its end date");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1 > maxRequestDays) {
+            throw new RuntimeException("Leave request cannot span more than " + maxRequestDays + " days");
+        }
+        // The employee row stays locked until the insert commits, so two overlapping requests for
+        // one employee cannot both pass the check, whichever nodes they arrive on
+        Employee employee = employeeRepository.findByIdForUpdate(request.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
+        ensureNoOverlap(employee.getId(), request.getStartDate(), request.getEndDate());
 
         LeaveRequest leaveRequest = LeaveRequest.builder()
                 .employee(employee)
@@ -38,12 +79,28 @@ public class LeaveRequestService {
         return convertToResponse(savedLeaveRequest);
     }
 
+    private void ensureNoOverlap(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        List<LeaveRequest> overlapping = leaveRequestRepository.findActiveOverlapping(employeeId, startDate, endDate,
+                PageRequest.ofSize(1));
+        if (!overlapping.isEmpty()) {
+            LeaveRequest existing = overlapping.get(0);
+            throw new RuntimeException("Leave request overlaps " + existing.getStatus() + " leave #" + existing.getId()
+                    + " from " + existing.getStartDate() + " to " + existing.getEndDate());
+        }
+    }
+
     public List<LeaveRequestResponse> getAll() {
         return leaveRequestRepository.findAll().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<LeaveRequestResponse> getPage(String cursor, int size) {
+        List<LeaveRequest> rows = leaveRequestRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), PageRequest.ofSize(size + 1));
+        return PageResponse.fromRows(rows, size, leaveRequest -> KeysetCursor.encode(leaveRequest.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()));
+    }
+
     public LeaveRequestResponse getById(Long id) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Leave request not found"));
@@ -62,6 +119,7 @@ public class LeaveRequestService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public LeaveRequestResponse approve(Long id, Long approvedById) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Leave request not found"));
@@ -69,17 +127,27 @@ public class LeaveRequestService {
         Employee approvedBy = employeeRepository.findById(approvedById)
                 .orElseThrow(() -> new RuntimeException("Approving employee not found"));
 
+        if (!"approved".equals(leaveRequest.getStatus())) {
+            leaveBalanceService.recordUsage(leaveRequest);
+        }
+
         leaveRequest.setStatus("approved");
         leaveRequest.setApprovedBy(approvedBy);
+        leaveRequest.setApprovedAt(LocalDateTime.now());
 
         LeaveRequest updatedLeaveRequest = leaveRequestRepository.save(leaveRequest);
         return convertToResponse(updatedLeaveRequest);
     }
 
+    @Transactional
     public LeaveRequestResponse reject(Long id, String comments) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Leave request not found"));
 
+        if ("approved".equals(leaveRequest.getStatus())) {
+            leaveBalanceService.reverseUsage(leaveRequest);
+        }
+
         leaveRequest.setStatus("rejected");
         leaveRequest.setRejectionReason(comments);
 
@@ -87,187 +155,211 @@ public class LeaveRequestService {
         return convertToResponse(updatedLeaveRequest);
     }
 
+    /**
+     * Applies many approve/reject decisions in one transaction: the requests
+     * are loaded with one IN query, balances are charged or refunded as in
+     * approve and reject, and the changed rows are written back together.
+     * Requests are handled in employee order so concurrent batches lock
+     * balance rows in the same order. A decision that cannot be applied is
+     * reported in its outcome and does not fail the rest of the batch.
+     */
+    @Transactional
+    public LeaveBulkDecisionResponse bulkDecide(LeaveBulkDecisionRequest request) {
+        List<LeaveDecision> decisions = request.getDecisions() != null ? request.getDecisions() : List.of();
+        if (decisions.size() > bulkDecisionMaxBatchSize) {
+            throw new RuntimeException("At most " + bulkDecisionMaxBatchSize + " decisions per batch");
+        }
+
+        Employee approvedBy = null;
+        if (decisions.stream().anyMatch(decision -> decision != null && "approve".equals(decision.getDecision()))) {
+            if (request.getApprovedBy() == null) {
+                throw new RuntimeException("approvedBy is required to approve leave");
+            }
+            approvedBy = employeeRepository.findById(request.getApprovedBy())
+                    .orElseThrow(() -> new RuntimeException("Approving employee not found"));
+        }
+
+        String[] outcomes = new String[decisions.size()];
+        Set<Long> ids = new HashSet<>();
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            LeaveDecision decision = decisions.get(i);
+            if (decision == null || decision.getId() == null
+                    || !("approve".equals(decision.getDecision()) || "reject".equals(decision.getDecision()))) {
+                outcomes[i] = "invalid";
+            } else if (!ids.add(decision.getId())) {
+                outcomes[i] = "duplicate";
+            } else {
+                valid.add(i);
+            }
+        }
+
+        Map<Long, LeaveRequest> byId = new HashMap<>();
+        leaveRequestRepository.findAllById(ids).forEach(leave -> byId.put(leave.getId(), leave));
+        List<Integer> found = new ArrayList<>();
+        for (int i : valid) {
+            if (byId.containsKey(decisions.get(i).getId())) {
+                found.add(i);
+            } else {
+                outcomes[i] = "not_found";
+            }
+        }
+        found.sort(Comparator.comparing((Integer i) -> byId.get(decisions.get(i).getId()).getEmployee().getId())
+                .thenComparing(i -> decisions.get(i).getId()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaveRequest> changed = new ArrayList<>();
+        for (int i : found) {
+            LeaveDecision decision = decisions.get(i);
+            LeaveRequest leaveRequest = byId.get(decision.getId());
+            if ("approve".equals(decision.getDecision())) {
+                if ("approved".equals(leaveRequest.getStatus())) {
+                    outcomes[i] = "unchanged";
+                    continue;
+                }
+                if (leaveBalanceService.tryRecordUsage(leaveRequest) != null) {
+                    outcomes[i] = "insufficient_balance";
+                    continue;
+                }
+                leaveRequest.setStatus("approved");
+                leaveRequest.setApprovedBy(approvedBy);
+                leaveRequest.setApprovedAt(now);
+                outcomes[i] = "approved";
+            } else {
+                if ("rejected".equals(leaveRequest.getStatus())) {
+                    outcomes[i] = "unchanged";
+                    continue;
+                }
+                if ("approved".equals(leaveRequest.getStatus())) {
+                    leaveBalanceService.reverseUsage(leaveRequest);
+                }
+                leaveRequest.setStatus("rejected");
+                leaveRequest.setRejectionReason(decision.getComments());
+                outcomes[i] = "rejected";
+            }
+            changed.add(leaveRequest);
+        }
+        leaveRequestRepository.saveAll(changed);
+
+        LeaveBulkDecisionResponse response = new LeaveBulkDecisionResponse();
+        response.setReceived(decisions.size());
+        for (String outcome : outcomes) {
+            switch (outcome) {
+                case "approved" -> response.setApproved(response.getApproved() + 1);
+                case "rejected" -> response.setRejected(response.getRejected() + 1);
+                case "unchanged" -> response.setUnchanged(response.getUnchanged() + 1);
+                default -> response.setFailed(response.getFailed() + 1);
+            }
+        }
+        response.setOutcomes(Arrays.asList(outcomes));
+        return response;
+    }
+
+    @Transactional
     public void delete(Long id) {
-        if (!leaveRequestRepository.existsById(id)) {
-            throw new RuntimeException("Leave request not found");
+        LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Leave request not found"));
+        if ("approved".equals(leaveRequest.getStatus())) {
+            leaveBalanceService.reverseUsage(leaveRequest);
         }
-        leaveRequestRepository.deleteById(id);
+        leaveRequestRepository.delete(leaveRequest);
     }
 
+    // One indexed read of the ledger balances; years not opened yet show their opening accrual
     public Map<String, Object> getLeaveBalance(Long employeeId, Integer year) {
         int currentYear = year != null ? year : LocalDate.now().getYear();
-        LocalDate startDate = LocalDate.of(currentYear, 1, 1);
-        LocalDate endDate = LocalDate.of(currentYear, 12, 31);
-        
-        List<LeaveRequest> leaveRequests = leaveRequestRepository
-                .findByEmployeeIdAndStartDateBetween(employeeId, startDate, endDate);
-        
+
         Map<String, Object> balance = new HashMap<>();
-        Map<String, Object> annualLeave = new HashMap<>();
-        Map<String, Object> sickLeave = new HashMap<>();
-        Map<String, Object> personalLeave = new HashMap<>();
-        Map<String, Object> maternityLeave = new HashMap<>();
-        Map<String, Object> paternityLeave = new HashMap<>();
-        
-        // Default totals
-        annualLeave.put("total", 21);
-        sickLeave.put("total", 10);
-        personalLeave.put("total", 7);
-        maternityLeave.put("total", 90);
-        paternityLeave.put("total", 15);
-        
-        // Calculate used days
-        int annualUsed = 0, sickUsed = 0, personalUsed = 0, maternityUsed = 0, paternityUsed = 0;
-        
-        for (LeaveRequest leave : leaveRequests) {
-            if (leave.getStatus().equals("approved")) {
-                int days = calculateDays(leave.getStartDate(), leave.getEndDate());
-                switch (leave.getLeaveType()) {
-                    case "annual" -> annualUsed += days;
-                    case "sick" -> sickUsed += days;
-                    case "personal" -> personalUsed += days;
-                    case "maternity" -> maternityUsed += days;
-                    case "paternity" -> paternityUsed += days;
-                }
-            }
-        }
-        
-        annualLeave.put("used", annualUsed);
-        sickLeave.put("used", sickUsed);
-        personalLeave.put("used", personalUsed);
-        maternityLeave.put("used", maternityUsed);
-        paternityLeave.put("used", paternityUsed);
-        
         balance.put("employeeId", employeeId);
         balance.put("year", currentYear);
-        balance.put("annualLeave", annualLeave);
-        balance.put("sickLeave", sickLeave);
-        balance.put("personalLeave", personalLeave);
-        balance.put("maternityLeave", maternityLeave);
-        balance.put("paternityLeave", paternityLeave);
-        
+        for (LeaveBalance leaveBalance : leaveBalanceService.getBalances(employeeId, currentYear)) {
+            Map<String, Object> typeBalance = new HashMap<>();
+            typeBalance.put("total", leaveBalance.getAccruedDays() + leaveBalance.getCarriedOverDays());
+            typeBalance.put("accrued", leaveBalance.getAccruedDays());
+            typeBalance.put("carriedOver", leaveBalance.getCarriedOverDays());
+            typeBalance.put("used", leaveBalance.getUsedDays());
+            typeBalance.put("remaining", leaveBalance.getRemainingDays());
+            balance.put(leaveBalance.getLeaveType() + "Leave", typeBalance);
+        }
         return balance;
     }
 
-    public Map<String, Object> generateReport(String startDate, String endDate, Long employeeId) {
+    public Map<String, Object> rebuildBalances() {
+        return leaveBalanceService.rebuild();
+    }
+
+    public LeaveReportResponse generateReport(String startDate, String endDate, Long employeeId) {
         LocalDate start = LocalDate.parse(startDate);
         LocalDate end = LocalDate.parse(endDate);
-        
-        List<LeaveRequest> leaveRequests;
-        if (employeeId != null) {
-            leaveRequests = leaveRequestRepository.findByEmployeeIdAndStartDateBetween(employeeId, start, end);
-        } else {
-            leaveRequests = leaveRequestRepository.findByStartDateBetween(start, end);
-        }
-        
-        Map<String, Object> report = new HashMap<>();
-        List<Map<String, Object>> employeeBreakdown = new ArrayList<>();
-        
-        Map<String, Integer> totals = new HashMap<>();
-        totals.put("totalRequests", leaveRequests.size());
-        totals.put("approved", (int) leaveRequests.stream().filter(l -> l.getStatus().equals("approved")).count());
-        totals.put("pending", (int) leaveRequests.stream().filter(l -> l.getStatus().equals("pending")).count());
-        totals.put("rejected", (int) leaveRequests.stream().filter(l -> l.getStatus().equals("rejected")).count());
-        
-        // Group by employee
-        Map<Long, List<LeaveRequest>> byEmployee = leaveRequests.stream()
-                .collect(Collectors.groupingBy(l -> l.getEmployee().getId()));
-        
-        for (Map.Entry<Long, List<LeaveRequest>> entry : byEmployee.entrySet()) {
-            Employee emp = entry.getValue().get(0).getEmployee();
-            Map<String, Object> empData = new HashMap<>();
-            empData.put("employeeId", emp.getId());
-            empData.put("employeeName", emp.getFirstName() + " " + emp.getLastName());
-            empData.put("totalRequests", entry.getValue().size());
-            empData.put("approved", (int) entry.getValue().stream().filter(l -> l.getStatus().equals("approved")).count());
-            empData.put("pending", (int) entry.getValue().stream().filter(l -> l.getStatus().equals("pending")).count());
-            empData.put("rejected", (int) entry.getValue().stream().filter(l -> l.getStatus().equals("rejected")).count());
-            
-            int totalDays = entry.getValue().stream()
-                    .filter(l -> l.getStatus().equals("approved"))
-                    .mapToInt(l -> calculateDays(l.getStartDate(), l.getEndDate()))
-                    .sum();
-            empData.put("totalDays", totalDays);
-            
+
+        List<LeaveRequest> leaveRequests = leaveRequestRepository.findForReport(start, end, employeeId);
+
+        // One pass over the rows into per-employee counters; parallel for very large ranges
+        LongKeyedMap<LeaveTally> byEmployee = ReportEngine.groupBy(leaveRequests,
+                l -> l.getEmployee().getId(), LeaveTally::new,
+                (tally, leave) -> tally.add(leave, calculateDays(leave.getStartDate(), leave.getEndDate())));
+
+        LeaveReportTotals totals = new LeaveReportTotals();
+        List<EmployeeLeaveReport> employeeBreakdown = new ArrayList<>(byEmployee.size());
+        byEmployee.forEach((empId, tally) -> {
+            totals.setTotalRequests(totals.getTotalRequests() + tally.total);
+            totals.setApproved(totals.getApproved() + tally.approved);
+            totals.setPending(totals.getPending() + tally.pending);
+            totals.setRejected(totals.getRejected() + tally.rejected);
+
+            EmployeeLeaveReport empData = new EmployeeLeaveReport();
+            empData.setEmployeeId(empId);
+            empData.setEmployeeName(tally.employeeName);
+            empData.setTotalRequests(tally.total);
+            empData.setApproved(tally.approved);
+            empData.setPending(tally.pending);
+            empData.setRejected(tally.rejected);
+            empData.setTotalDays(tally.approvedDays);
             employeeBreakdown.add(empData);
-        }
-        
-        report.put("startDate", startDate);
-        report.put("endDate", endDate);
-        report.put("totals", totals);
-        report.put("employeeBreakdown", employeeBreakdown);
-        
+        });
+
+        LeaveReportResponse report = new LeaveReportResponse();
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        report.setTotals(totals);
+        report.setEmployeeBreakdown(employeeBreakdown);
         return report;
     }
 
-    public Map<String, Object> getLeaveCalendar(int year, int month, Long employeeId) {
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        
-        List<LeaveRequest> leaveRequests;
-        if (employeeId != null) {
-            leaveRequests = leaveRequestRepository.findByEmployeeIdAndStartDateBetween(employeeId, startDate, endDate);
-        } else {
-            leaveRequests = leaveRequestRepository.findByStartDateBetween(startDate, endDate);
+    public CalendarResponse getLeaveCalendar(int year, int month, Long employeeId) {
+        CalendarResponse calendar;
+        try {
+            calendar = new CalendarResponse(year, month, LEAVE_CALENDAR_COUNTERS, "leaves", "leaveType", "totalLeaves");
+        } catch (DateTimeException e) {
+            throw new RuntimeException("Invalid calendar month: " + e.getMessage(), e);
         }
-        
-        Map<Integer, Map<String, Object>> calendarDays = new HashMap<>();
-        
-        // Initialize all days of month
-        for (int day = 1; day <= endDate.getDayOfMonth(); day++) {
-            LocalDate currentDate = LocalDate.of(year, month, day);
-            DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
-            
-            Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", currentDate);
-            dayData.put("isWeekend", dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY);
-            dayData.put("leaves", new ArrayList<>());
-            dayData.put("summary", new HashMap<String, Integer>() {{
-                put("annual", 0);
-                put("sick", 0);
-                put("personal", 0);
-                put("maternity", 0);
-                put("paternity", 0);
-            }});
-            calendarDays.put(day, dayData);
+        businessCalendar.markDays(calendar);
+        LocalDate monthStart = calendar.getStartDate();
+        LocalDate monthEnd = calendar.getEndDate();
+
+        // Approved leaves overlapping the month, including ones that started in an earlier month
+        List<LeaveCalendarRow> rows = leaveRequestRepository.findCalendarRows(monthStart, monthEnd, employeeId);
+        List<LeaveSpan> spans = new ArrayList<>(rows.size());
+        for (LeaveCalendarRow row : rows) {
+            spans.add(new LeaveSpan(row.getStartDate().toEpochDay(), row.getEndDate().toEpochDay(),
+                    calendar.counterIndex(row.getLeaveType()),
+                    new CalendarEntry(row.getId(), row.getEmployeeId(), row.getEmployeeName(), row.getLeaveType())));
         }
-        
-        // Populate with leave data
-        for (LeaveRequest leave : leaveRequests) {
-            if (leave.getStatus().equals("approved")) {
-                LocalDate start = leave.getStartDate();
-                LocalDate end = leave.getEndDate();
-                
-                for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
-                    if (date.getMonthValue() == month && date.getYear() == year) {
-                        int day = date.getDayOfMonth();
-                        Map<String, Object> dayData = calendarDays.get(day);
-                        
-                        if (dayData != null) {
-                            List<LeaveRequest> dayLeaves = (List<LeaveRequest>) dayData.get("leaves");
-                            dayLeaves.add(leave);
-                            
-                            Map<String, Integer> summary = (Map<String, Integer>) dayData.get("summary");
-                            String type = leave.getLeaveType();
-                            summary.put(type, summary.get(type) + 1);
-                        }
-                    }
-                }
+
+        // One sweep over the month hands over who is on leave each day
+        long firstDay = monthStart.toEpochDay();
+        IntervalIndex.of(spans, LeaveSpan::start, LeaveSpan::end).forEachDay(firstDay, monthEnd.toEpochDay(), (day, onLeave) -> {
+            for (LeaveSpan span : onLeave) {
+                calendar.add((int) (day - firstDay) + 1, span.counter(), span.entry());
             }
-        }
-        
-        Map<String, Object> calendar = new HashMap<>();
-        calendar.put("year", year);
-        calendar.put("month", month);
-        calendar.put("monthName", startDate.getMonth().toString());
-        calendar.put("startDate", startDate);
-        calendar.put("endDate", endDate);
-        calendar.put("days", calendarDays);
-        calendar.put("totalLeaves", leaveRequests.size());
-        
+        });
+        calendar.setTotal(rows.size());
         return calendar;
     }
 
+    private record LeaveSpan(long start, long end, int counter, CalendarEntry entry) {
+    }
+
     private LeaveRequestResponse convertToResponse(LeaveRequest leaveRequest) {
         LeaveRequestResponse response = new LeaveRequestResponse();
         response.setId(leaveRequest.getId());
@@ -288,7 +380,47 @@ public class LeaveRequestService {
         return response;
     }
 
+    // Working days only: weekends and holidays are not taken as leave
     private int calculateDays(LocalDate startDate, LocalDate endDate) {
-        return (int) java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        return businessCalendar.workingDaysBetween(startDate, endDate);
+    }
+
+    private static final class LeaveTally implements ReportEngine.Accumulator<LeaveTally> {
+        private String employeeName;
+        private int total;
+        private int approved;
+        private int pending;
+        private int rejected;
+        private int approvedDays;
+
+        void add(LeaveRequest leave, int days) {
+            if (employeeName == null) {
+                employeeName = leave.getEmployee().getFirstName() + " " + leave.getEmployee().getLastName();
+            }
+            total++;
+            String status = leave.getStatus() != null ? leave.getStatus() : "";
+            switch (status) {
+                case "approved" -> {
+                    approved++;
+                    approvedDays += days;
+                }
+                case "pending" -> pending++;
+                case "rejected" -> rejected++;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void merge(LeaveTally other) {
+            if (employeeName == null) {
+                employeeName = other.employeeName;
+            }
+            total += other.total;
+            approved += other.approved;
+            pending += other.pending;
+            rejected += other.rejected;
+            approvedDays += other.approvedDays;
+        }
     }
 }
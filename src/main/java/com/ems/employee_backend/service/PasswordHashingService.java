@@ -0,0 +1,137 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.exception.TooManyRequestsException;
+import com.ems.employee_backend.util.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a dedicated bounded pool so login bursts cannot occupy
+ * every servlet thread. Callers get a CompletableFuture and controllers hand
+ * it back to Spring MVC, so no request thread waits on a hash. When the queue
+ * is full, callers are rejected straight away with a 429 whose Retry-After is
+ * the estimated time to drain the queue.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder taskNanos = new LongAdder();
+    private final long maxRetryAfterSeconds;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.hashing.pool-size:0}") int poolSize,
+                                  @Value("${security.hashing.queue-capacity:100}") int queueCapacity,
+                                  @Value("${security.hashing.max-retry-after-seconds:30}") long maxRetryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxRetryAfterSeconds = Math.max(1, maxRetryAfterSeconds);
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Schedules a hashing-heavy operation on the pool, timing it under the given name.
+     *
+     * @throws TooManyRequestsException if the pool queue is full
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        LatencyHistogram histogram = latencies.computeIfAbsent(operation, key -> new LatencyHistogram());
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    histogram.record(elapsed);
+                    completedTasks.increment();
+                    taskNanos.add(elapsed);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Authentication service is busy, please retry shortly", retryAfterSeconds());
+        }
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks the current password and hashes the new one as a single pool task.
+     * Completes with the new hash, or exceptionally with BadCredentialsException.
+     */
+    public CompletableFuture<String> replace(String currentPassword, String encodedPassword, String newPassword) {
+        return submit("replace", () -> {
+            if (!passwordEncoder.matches(currentPassword, encodedPassword)) {
+                throw new BadCredentialsException("Current password is incorrect");
+            }
+            return passwordEncoder.encode(newPassword);
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> operations = new HashMap<>();
+        latencies.forEach((operation, histogram) -> operations.put(operation, histogram.snapshot()));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("rejected", rejected.sum());
+        stats.put("retryAfterSeconds", retryAfterSeconds());
+        stats.put("queueWait", queueWait.snapshot());
+        stats.put("operations", operations);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Time for the pool to work through what is queued now, at the average task time so far
+    private long retryAfterSeconds() {
+        long tasks = completedTasks.sum();
+        if (tasks == 0) {
+            return 1;
+        }
+        double averageNanos = (double) taskNanos.sum() / tasks;
+        int threads = executor.getMaximumPoolSize();
+        double drainNanos = (executor.getQueue().size() + executor.getActiveCount()) * averageNanos / threads;
+        return Math.min(maxRetryAfterSeconds, Math.max(1, (long) Math.ceil(drainNanos / 1_000_000_000.0)));
+    }
+}
@@ -2,11 +2,14 @@ package com.ems.employee_backend.service;
 
 import com.ems.employee_backend.dto.PayrollRequest;
 import com.ems.employee_backend.dto.PayrollResponse;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.entity.Employee;
 import com.ems.employee_backend.entity.Payroll;
 import com.ems.employee_backend.repository.EmployeeRepository;
 import com.ems.employee_backend.repository.PayrollRepository;
+import com.ems.employee_backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -58,6 +61,12 @@ public class PayrollService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<PayrollResponse> getPage(String cursor, int size) {
+        List<Payroll> rows = payrollRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), PageRequest.ofSize(size + 1));
+        return PageResponse.fromRows(rows, size, payroll -> KeysetCursor.encode(payroll.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()));
+    }
+
     public PayrollResponse getById(Long id) {
         Payroll payroll = payrollRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Payroll record not found"));
@@ -0,0 +1,330 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.dto.PunchBatchRequest;
+import com.ems.employee_backend.dto.PunchBatchResponse;
+import com.ems.employee_backend.dto.PunchEvent;
+import com.ems.employee_backend.exception.ServiceUnavailableException;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import com.ems.employee_backend.service.AttendanceRollupService.Contribution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests punches replayed by badge terminals in one call. Punches are grouped
+ * per employee and day and paired into a check-in (earliest "in") and a
+ * check-out (latest "out"); undirected punches count as in for the first and
+ * out for the last. Each group is merged into the existing attendance row,
+ * widening its check-in/check-out, or becomes a new row. All employees and
+ * existing rows are resolved with one query each, and inserts and updates go
+ * out as JDBC batches in a single transaction together with the rollup deltas.
+ * Rows are locked and written in (date, employee) order; a batch that still
+ * loses a deadlock or a unique-key race to a concurrent writer is retried
+ * against the rows now present, up to {@code attendance.punches.max-attempts}.
+ */
+@Service
+public class PunchIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PunchIngestionService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO attendance " +
+            "(employee_id, department_id, date, check_in_time, check_out_time, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE attendance SET check_in_time = ?, check_out_time = ?, updated_at = ? WHERE id = ?";
+
+    private static final String CREATED = "created";
+    private static final String UPDATED = "updated";
+    private static final String UNCHANGED = "unchanged";
+    private static final String INVALID = "invalid";
+    private static final String UNKNOWN_EMPLOYEE = "unknown_employee";
+    private static final String ARCHIVED = "archived";
+
+    private static final Comparator<DayPunches> KEY_ORDER =
+            Comparator.comparing((DayPunches day) -> day.date).thenComparing(day -> day.employeeId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+
+    public PunchIngestionService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 EmployeeRepository employeeRepository,
+                                 AttendanceRollupService attendanceRollupService,
+                                 AttendanceArchiveService attendanceArchiveService,
+                                 @Value("${attendance.punches.max-batch-size:10000}") int maxBatchSize,
+                                 @Value("${attendance.punches.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.employeeRepository = employeeRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.attendanceArchiveService = attendanceArchiveService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public PunchBatchResponse ingest(PunchBatchRequest request) {
+        List<PunchEvent> punches = request.getPunches() != null ? request.getPunches() : List.of();
+        if (punches.size() > maxBatchSize) {
+            throw new RuntimeException("At most " + maxBatchSize + " punches per batch");
+        }
+
+        String[] outcomes = new String[punches.size()];
+        Map<Long, Long> departments = resolveDepartments(punches);
+        LocalDate hotFrom = attendanceArchiveService.hotFrom();
+
+        Map<List<Object>, DayPunches> days = new LinkedHashMap<>();
+        for (int i = 0; i < punches.size(); i++) {
+            PunchEvent punch = punches.get(i);
+            if (punch == null || punch.getEmployeeId() == null || punch.getTimestamp() == null
+                    || !isDirection(punch.getDirection())) {
+                outcomes[i] = INVALID;
+            } else if (!departments.containsKey(punch.getEmployeeId())) {
+                outcomes[i] = UNKNOWN_EMPLOYEE;
+            } else if (punch.getTimestamp().toLocalDate().isBefore(hotFrom)) {
+                outcomes[i] = ARCHIVED;
+            } else {
+                LocalDate date = punch.getTimestamp().toLocalDate();
+                days.computeIfAbsent(List.of(punch.getEmployeeId(), date), key -> new DayPunches(punch.getEmployeeId(), date))
+                        .add(i, punch);
+            }
+        }
+
+        if (!days.isEmpty()) {
+            List<DayPunches> ordered = new ArrayList<>(days.values());
+            ordered.sort(KEY_ORDER);
+            writeWithRetry(ordered, departments);
+        }
+
+        PunchBatchResponse response = new PunchBatchResponse();
+        response.setReceived(punches.size());
+        for (DayPunches day : days.values()) {
+            for (int index : day.eventIndexes) {
+                outcomes[index] = day.outcome;
+            }
+        }
+        for (String outcome : outcomes) {
+            switch (outcome) {
+                case CREATED -> response.setCreated(response.getCreated() + 1);
+                case UPDATED -> response.setUpdated(response.getUpdated() + 1);
+                case UNCHANGED -> response.setUnchanged(response.getUnchanged() + 1);
+                default -> response.setRejected(response.getRejected() + 1);
+            }
+        }
+        response.setOutcomes(Arrays.asList(outcomes));
+        logger.debug("Ingested {} punches from terminal {}: {} created, {} updated, {} rejected", punches.size(),
+                request.getTerminalId(), response.getCreated(), response.getUpdated(), response.getRejected());
+        return response;
+    }
+
+    private void writeWithRetry(List<DayPunches> days, Map<Long, Long> departments) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(days, departments));
+                return;
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // A check-in inserted one of the same employee/days first, or InnoDB rolled this batch back
+                // as a deadlock victim (gap locks from the locking read); retry against the rows now present
+                if (attempt >= maxAttempts) {
+                    throw new ServiceUnavailableException("Punch batch conflicted with concurrent attendance writes "
+                            + attempt + " times; retry the batch", e);
+                }
+                logger.debug("Punch batch attempt {} conflicted with a concurrent write: {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+    private void write(Iterable<DayPunches> days, Map<Long, Long> departments) {
+        Map<List<Object>, ExistingRow> existing = lockExisting(days);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Contribution> removed = new ArrayList<>();
+        List<Contribution> added = new ArrayList<>();
+        for (DayPunches day : days) {
+            ExistingRow row = existing.get(List.of(day.employeeId, day.date));
+            if (row == null) {
+                Long departmentId = departments.get(day.employeeId);
+                LocalTime checkOut = laterThan(day.checkOut(), day.checkIn());
+                inserts.add(new Object[]{day.employeeId, departmentId, day.date, day.checkIn(), checkOut, "Present",
+                        Timestamp.valueOf(now), Timestamp.valueOf(now)});
+                added.add(contribution(day, departmentId, "Present", 0.0, day.checkIn(), checkOut));
+                day.outcome = CREATED;
+                continue;
+            }
+
+            LocalTime checkIn = earliest(row.checkIn, day.checkIn());
+            LocalTime checkOut = laterThan(latest(row.checkOut, day.checkOut()), checkIn);
+            if (checkOut == null) {
+                checkOut = row.checkOut;
+            }
+            if (Objects.equals(checkIn, row.checkIn) && Objects.equals(checkOut, row.checkOut)) {
+                day.outcome = UNCHANGED;
+                continue;
+            }
+            updates.add(new Object[]{checkIn, checkOut, Timestamp.valueOf(now), row.id});
+            // The row stays with the department it was recorded under
+            Long departmentId = row.departmentId != null ? row.departmentId : departments.get(day.employeeId);
+            removed.add(contribution(day, departmentId, row.status, row.overtimeHours, row.checkIn, row.checkOut));
+            added.add(contribution(day, departmentId, row.status, row.overtimeHours, checkIn, checkOut));
+            day.outcome = UPDATED;
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        if (!removed.isEmpty()) {
+            attendanceRollupService.removeAll(removed);
+        }
+        if (!added.isEmpty()) {
+            attendanceRollupService.addAll(added);
+        }
+    }
+
+    // One locking read per distinct day; a replay from one terminal usually covers a single day
+    private Map<List<Object>, ExistingRow> lockExisting(Iterable<DayPunches> days) {
+        // Sorted so concurrent batches take their row and gap locks in the same order
+        Map<LocalDate, Set<Long>> employeesByDate = new TreeMap<>();
+        for (DayPunches day : days) {
+            employeesByDate.computeIfAbsent(day.date, date -> new TreeSet<>()).add(day.employeeId);
+        }
+
+        Map<List<Object>, ExistingRow> existing = new HashMap<>();
+        employeesByDate.forEach((date, employeeIds) -> {
+            String placeholders = String.join(", ", Collections.nCopies(employeeIds.size(), "?"));
+            List<Object> args = new ArrayList<>(employeeIds.size() + 1);
+            args.add(date);
+            args.addAll(employeeIds);
+            jdbcTemplate.query("SELECT id, employee_id, department_id, check_in_time, check_out_time, status, overtime_hours " +
+                            "FROM attendance WHERE date = ? AND employee_id IN (" + placeholders + ") ORDER BY employee_id FOR UPDATE",
+                    rs -> {
+                        ExistingRow row = new ExistingRow(rs.getLong("id"),
+                                rs.getObject("department_id", Long.class),
+                                rs.getObject("check_in_time", LocalTime.class),
+                                rs.getObject("check_out_time", LocalTime.class),
+                                rs.getString("status"),
+                                rs.getDouble("overtime_hours"));
+                        existing.put(List.of(rs.getLong("employee_id"), date), row);
+                    },
+                    args.toArray());
+        });
+        return existing;
+    }
+
+    private Map<Long, Long> resolveDepartments(List<PunchEvent> punches) {
+        Set<Long> employeeIds = punches.stream()
+                .filter(punch -> punch != null && punch.getEmployeeId() != null)
+                .map(PunchEvent::getEmployeeId)
+                .collect(Collectors.toSet());
+        Map<Long, Long> departments = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            for (Object[] row : employeeRepository.findDepartmentIdsByIdIn(employeeIds)) {
+                departments.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return departments;
+    }
+
+    private static Contribution contribution(DayPunches day, Long departmentId, String status, double overtimeHours,
+                                             LocalTime checkIn, LocalTime checkOut) {
+        return new Contribution(day.employeeId, departmentId, day.date, status, overtimeHours,
+                AttendanceRollupService.workedMinutes(checkIn, checkOut));
+    }
+
+    private static boolean isDirection(String direction) {
+        return direction == null || direction.equalsIgnoreCase("in") || direction.equalsIgnoreCase("out");
+    }
+
+    private static LocalTime earliest(LocalTime a, LocalTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalTime latest(LocalTime a, LocalTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    // A check-out only counts when it comes after the check-in
+    private static LocalTime laterThan(LocalTime checkOut, LocalTime checkIn) {
+        return checkOut != null && (checkIn == null || checkOut.isAfter(checkIn)) ? checkOut : null;
+    }
+
+    private record ExistingRow(long id, Long departmentId, LocalTime checkIn, LocalTime checkOut, String status, double overtimeHours) {
+    }
+
+    private static final class DayPunches {
+        private final Long employeeId;
+        private final LocalDate date;
+        private final List<Integer> eventIndexes = new ArrayList<>();
+        private LocalTime firstIn;
+        private LocalTime lastOut;
+        private LocalTime firstUndirected;
+        private LocalTime lastUndirected;
+        private String outcome;
+
+        DayPunches(Long employeeId, LocalDate date) {
+            this.employeeId = employeeId;
+            this.date = date;
+        }
+
+        void add(int index, PunchEvent punch) {
+            eventIndexes.add(index);
+            LocalTime time = punch.getTimestamp().toLocalTime().truncatedTo(ChronoUnit.SECONDS);
+            if ("in".equalsIgnoreCase(punch.getDirection())) {
+                firstIn = earliest(firstIn, time);
+            } else if ("out".equalsIgnoreCase(punch.getDirection())) {
+                lastOut = latest(lastOut, time);
+            } else {
+                firstUndirected = earliest(firstUndirected, time);
+                lastUndirected = latest(lastUndirected, time);
+            }
+        }
+
+        LocalTime checkIn() {
+            return firstIn != null ? firstIn : firstUndirected;
+        }
+
+        // Undirected punches only close the day when a later one follows the check-in
+        LocalTime checkOut() {
+            if (lastOut != null) {
+                return lastOut;
+            }
+            return laterThan(lastUndirected, checkIn());
+        }
+    }
+}
@@ -2,13 +2,16 @@ package com.ems.employee_backend.service;
 
 import com.ems.employee_backend.dto.TaskRequest;
 import com.ems.employee_backend.dto.TaskResponse;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.entity.Employee;
 import com.ems.employee_backend.entity.Project;
 import com.ems.employee_backend.entity.Task;
 import com.ems.employee_backend.repository.EmployeeRepository;
 import com.ems.employee_backend.repository.ProjectRepository;
 import com.ems.employee_backend.repository.TaskRepository;
+import com.ems.employee_backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -62,6 +65,12 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<TaskResponse> getPage(String cursor, int size) {
+        List<Task> rows = taskRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), PageRequest.ofSize(size + 1));
+        return PageResponse.fromRows(rows, size, task -> KeysetCursor.encode(task.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()));
+    }
+
     public TaskResponse getById(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
@@ -0,0 +1,180 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.dto.EmployeeAvailability;
+import com.ems.employee_backend.dto.TeamAvailabilityResponse;
+import com.ems.employee_backend.repository.ArchivedAttendanceRepository;
+import com.ems.employee_backend.repository.AttendanceRepository;
+import com.ems.employee_backend.repository.DepartmentRepository;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import com.ems.employee_backend.repository.LeaveRequestRepository;
+import com.ems.employee_backend.util.LongKeyedMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Day-by-employee availability for a department. Each employee gets one
+ * bitset per state (present, on approved leave, absent) indexed by day from
+ * the range start, filled from three slim queries; availability and the
+ * per-day headcount then come from whole-word OR/AND-NOT over those bitsets
+ * against shared working-day and future-day masks, instead of per-day maps
+ * or one calendar request per team member.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamAvailabilityService {
+
+    private static final int MAX_DAYS = 366;
+
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final ArchivedAttendanceRepository archivedAttendanceRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final BusinessCalendar businessCalendar;
+
+    public TeamAvailabilityResponse getAvailability(Long departmentId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new RuntimeException("A date range with from on or before to is required");
+        }
+        int length = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (length > MAX_DAYS) {
+            throw new RuntimeException("Availability range cannot exceed " + MAX_DAYS + " days");
+        }
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new RuntimeException("Department not found");
+        }
+
+        List<Object[]> names = employeeRepository.findNamesByDepartmentId(departmentId);
+        List<EmployeeDays> employees = new ArrayList<>(names.size());
+        LongKeyedMap<EmployeeDays> byId = new LongKeyedMap<>(names.size());
+        for (Object[] row : names) {
+            EmployeeDays days = new EmployeeDays((Long) row[0], row[1] + " " + row[2], length);
+            employees.add(days);
+            byId.put(days.employeeId, days);
+        }
+
+        List<Object[]> statuses = attendanceRepository.findStatusesByDepartment(departmentId, from, to);
+        if (from.isBefore(attendanceArchiveService.hotFrom())) {
+            statuses = new ArrayList<>(statuses);
+            statuses.addAll(archivedAttendanceRepository.findStatusesByDepartment(departmentId, from, to));
+        }
+        for (Object[] row : statuses) {
+            EmployeeDays days = byId.get((Long) row[0]);
+            if (days == null) {
+                continue;
+            }
+            int day = (int) ChronoUnit.DAYS.between(from, (LocalDate) row[1]);
+            switch (String.valueOf(row[2])) {
+                case "Present", "Late", "Half-day" -> days.present.set(day);
+                case "Absent" -> days.absent.set(day);
+                default -> {
+                }
+            }
+        }
+        for (Object[] row : leaveRequestRepository.findApprovedSpansByDepartment(departmentId, from, to)) {
+            EmployeeDays days = byId.get((Long) row[0]);
+            if (days == null) {
+                continue;
+            }
+            LocalDate start = (LocalDate) row[1];
+            LocalDate end = (LocalDate) row[2];
+            int first = start.isBefore(from) ? 0 : (int) ChronoUnit.DAYS.between(from, start);
+            int last = end.isAfter(to) ? length - 1 : (int) ChronoUnit.DAYS.between(from, end);
+            days.leave.set(first, last + 1);
+        }
+
+        BitSet working = new BitSet(length);
+        LocalDate date = from;
+        for (int day = 0; day < length; day++, date = date.plusDays(1)) {
+            if (businessCalendar.isWorkingDay(date)) {
+                working.set(day);
+            }
+        }
+        // Working days after today, where nobody can have attended yet
+        BitSet plannable = new BitSet(length);
+        LocalDate today = LocalDate.now();
+        if (today.isBefore(to)) {
+            plannable.set(today.isBefore(from) ? 0 : (int) ChronoUnit.DAYS.between(from, today) + 1, length);
+            plannable.and(working);
+        }
+
+        int[] available = new int[length];
+        List<EmployeeAvailability> rows = new ArrayList<>(employees.size());
+        for (EmployeeDays days : employees) {
+            // present | (plannable & ~leave & ~absent)
+            BitSet in = (BitSet) plannable.clone();
+            in.andNot(days.leave);
+            in.andNot(days.absent);
+            in.or(days.present);
+            for (int day = in.nextSetBit(0); day >= 0; day = in.nextSetBit(day + 1)) {
+                available[day]++;
+            }
+            rows.add(toAvailability(days, working, length));
+        }
+
+        TeamAvailabilityResponse response = new TeamAvailabilityResponse();
+        response.setDepartmentId(departmentId);
+        response.setFrom(from);
+        response.setTo(to);
+        response.setHeadcount(employees.size());
+        response.setAvailable(available);
+        response.setEmployees(rows);
+        return response;
+    }
+
+    private static EmployeeAvailability toAvailability(EmployeeDays days, BitSet working, int length) {
+        // Attendance wins over leave, leave over an absence record; leave counts on working days only
+        BitSet leave = (BitSet) days.leave.clone();
+        leave.and(working);
+        leave.andNot(days.present);
+        BitSet absent = (BitSet) days.absent.clone();
+        absent.andNot(days.present);
+        absent.andNot(leave);
+
+        char[] codes = new char[length];
+        for (int day = 0; day < length; day++) {
+            codes[day] = working.get(day) ? '.' : '-';
+        }
+        mark(codes, days.present, 'P');
+        mark(codes, leave, 'L');
+        mark(codes, absent, 'A');
+
+        EmployeeAvailability availability = new EmployeeAvailability();
+        availability.setEmployeeId(days.employeeId);
+        availability.setEmployeeName(days.employeeName);
+        availability.setDays(new String(codes));
+        availability.setPresentDays(days.present.cardinality());
+        availability.setLeaveDays(leave.cardinality());
+        availability.setAbsentDays(absent.cardinality());
+        return availability;
+    }
+
+    private static void mark(char[] codes, BitSet days, char code) {
+        for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+            codes[day] = code;
+        }
+    }
+
+    private static final class EmployeeDays {
+        private final Long employeeId;
+        private final String employeeName;
+        private final BitSet present;
+        private final BitSet leave;
+        private final BitSet absent;
+
+        EmployeeDays(Long employeeId, String employeeName, int length) {
+            this.employeeId = employeeId;
+            this.employeeName = employeeName;
+            this.present = new BitSet(length);
+            this.leave = new BitSet(length);
+            this.absent = new BitSet(length);
+        }
+    }
+}
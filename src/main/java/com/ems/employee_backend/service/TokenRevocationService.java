@@ -0,0 +1,127 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.RevokedToken;
+import com.ems.employee_backend.repository.RevokedTokenRepository;
+import com.ems.employee_backend.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of revoked token ids (jti). Revocations are persisted to
+ * revoked_tokens and mirrored in memory as a Bloom filter in front of an exact
+ * set, so the per-request check is a constant-time memory lookup. Other nodes
+ * pick up revocations by polling the table by revoked_at. Each poll re-reads
+ * an overlap window before the newest revocation seen, because rows do not
+ * become visible in revoked_at (or id) order: a transaction that stamped an
+ * earlier time can commit after a later one. Re-reading is harmless since
+ * remembering a revocation is idempotent. The window must exceed commit
+ * latency plus clock skew between nodes.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final long pollOverlapSeconds;
+
+    // jti -> token expiry in epoch millis
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    // Newest revoked_at seen so far; null until the first full load
+    private volatile LocalDateTime syncedThrough;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.expected-entries:100000}") int expectedRevocations,
+                                  @Value("${jwt.revocation.poll-overlap-seconds:60}") long pollOverlapSeconds) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.pollOverlapSeconds = pollOverlapSeconds;
+        this.bloomFilter = new BloomFilter(expectedRevocations, 0.01);
+    }
+
+    @PostConstruct
+    public void load() {
+        syncFromDatabase();
+        logger.info("Loaded {} active token revocations", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void revoke(String jti, Date expiration) {
+        if (jti == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        remember(jti, expiration.getTime());
+
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            try {
+                revokedTokenRepository.save(RevokedToken.builder()
+                        .jti(jti)
+                        .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // Revoked concurrently by another request; the row already exists
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:5000}")
+    public synchronized void syncFromDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> changes = syncedThrough == null
+                ? revokedTokenRepository.findByExpiresAtAfter(now)
+                : revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(
+                        syncedThrough.minusSeconds(pollOverlapSeconds), now);
+        LocalDateTime newest = syncedThrough != null ? syncedThrough : now.minusSeconds(pollOverlapSeconds);
+        for (RevokedToken token : changes) {
+            remember(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            if (token.getRevokedAt() != null && token.getRevokedAt().isAfter(newest)) {
+                newest = token.getRevokedAt();
+            }
+        }
+        syncedThrough = newest;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        long now = Instant.now().toEpochMilli();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        // Bloom filters cannot delete, so rebuild from the surviving entries
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), 0.01);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // Entries revoked while rebuilding must not be lost
+        revoked.keySet().forEach(rebuilt::put);
+
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Pruned {} expired token revocations", deleted);
+        }
+    }
+
+    private void remember(String jti, long expiresAt) {
+        revoked.put(jti, expiresAt);
+        bloomFilter.put(jti);
+    }
+}
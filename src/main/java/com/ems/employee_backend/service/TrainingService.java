@@ -4,13 +4,16 @@ import com.ems.employee_backend.dto.TrainingEnrollmentRequest;
 import com.ems.employee_backend.dto.TrainingEnrollmentResponse;
 import com.ems.employee_backend.dto.TrainingRequest;
 import com.ems.employee_backend.dto.TrainingResponse;
+import com.ems.employee_backend.dto.PageResponse;
 import com.ems.employee_backend.entity.Employee;
 import com.ems.employee_backend.entity.Training;
 import com.ems.employee_backend.entity.TrainingEnrollment;
 import com.ems.employee_backend.repository.EmployeeRepository;
 import com.ems.employee_backend.repository.TrainingEnrollmentRepository;
 import com.ems.employee_backend.repository.TrainingRepository;
+import com.ems.employee_backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -57,6 +60,12 @@ public class TrainingService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<TrainingResponse> getPage(String cursor, int size) {
+        List<Training> rows = trainingRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.afterId(cursor), PageRequest.ofSize(size + 1));
+        return PageResponse.fromRows(rows, size, training -> KeysetCursor.encode(training.getId()),
+                page -> page.stream().map(this::convertToResponse).collect(Collectors.toList()));
+    }
+
     public TrainingResponse getById(Long id) {
         Training training = trainingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Training not found"));
@@ -5,19 +5,21 @@ import com.ems.employee_backend.dto.UserResponse;
 import com.ems.employee_backend.entity.User;
 import com.ems.employee_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class UserRegisterService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final CustomUserDetailsService customUserDetailsService;
 
-    public UserResponse registerUser(RegisterUserRequest registerUserRequest) {
+    // The password is hashed on the hashing pool; the user is saved once the hash is ready
+    public CompletableFuture<UserResponse> registerUser(RegisterUserRequest registerUserRequest) {
         // Check if username already exists
         if (userRepository.existsByUsername(registerUserRequest.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -30,19 +32,22 @@ public class UserRegisterService {
             throw new RuntimeException("Email already exists");
         }
 
-        // Create new user
-        User user = new User();
-        user.setUsername(registerUserRequest.getUsername());
-        user.setPassword(passwordEncoder.encode(registerUserRequest.getPassword()));
-        user.setRole(registerUserRequest.getRole());
-        user.setEmail(registerUserRequest.getEmail());
-        user.setFirstName(registerUserRequest.getFirstName());
-        user.setLastName(registerUserRequest.getLastName());
-        user.setPhone(registerUserRequest.getPhone());
+        return passwordHashingService.encode(registerUserRequest.getPassword()).thenApply(encoded -> {
+            // Create new user
+            User user = new User();
+            user.setUsername(registerUserRequest.getUsername());
+            user.setPassword(encoded);
+            user.setRole(registerUserRequest.getRole());
+            user.setEmail(registerUserRequest.getEmail());
+            user.setFirstName(registerUserRequest.getFirstName());
+            user.setLastName(registerUserRequest.getLastName());
+            user.setPhone(registerUserRequest.getPhone());
 
-        User savedUser = userRepository.save(user);
-        
-        return convertToResponse(savedUser, "User registered successfully");
+            User savedUser = userRepository.save(user);
+            customUserDetailsService.evict(savedUser.getUsername());
+
+            return convertToResponse(savedUser, "User registered successfully");
+        });
     }
 
     private UserResponse convertToResponse(User user, String message) {
@@ -6,28 +6,35 @@ import com.ems.employee_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final CredentialsVersionTracker credentialsVersionTracker;
+    private final CustomUserDetailsService customUserDetailsService;
 
-    public void changePassword(String username, String currentPassword, String newPassword) {
+    // Verifies the current password and hashes the new one on the hashing pool; fails with BadCredentialsException
+    public CompletableFuture<Void> changePassword(String username, String currentPassword, String newPassword) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        String verifiedHash = user.getPassword();
 
-        // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
-            throw new BadCredentialsException("Current password is incorrect");
-        }
-
-        // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        // One conditional UPDATE, so concurrent changes cannot both bump the version from the same stale value
+        return passwordHashingService.replace(currentPassword, verifiedHash, newPassword).thenAccept(encoded -> {
+            int updated = userRepository.replacePassword(username, verifiedHash, encoded, LocalDateTime.now());
+            credentialsVersionTracker.forget(username);
+            customUserDetailsService.evict(username);
+            if (updated == 0) {
+                throw new BadCredentialsException("Password was changed by another request, please try again");
+            }
+        });
     }
 
     public User updateUserProfile(String username, UpdateUserRequest updateRequest) {
@@ -48,7 +55,9 @@ public class UserService {
             user.setPhone(updateRequest.getPhone());
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        customUserDetailsService.evict(username);
+        return savedUser;
     }
 
     public boolean existsByEmail(String email) {
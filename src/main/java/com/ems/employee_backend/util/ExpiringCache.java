@@ -0,0 +1,143 @@
+package com.ems.employee_backend.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small thread-safe in-process cache bounded by entry count and by a per-entry
+ * expiry timestamp. Entries live in an access-ordered map, so a put at the
+ * size limit evicts the least recently used entry in O(1). Expired entries are
+ * dropped lazily on read, and a full sweep runs once every {@code maxSize}
+ * puts, which keeps its cost constant per put.
+ */
+public class ExpiringCache<K, V> {
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxSize;
+    private int putsSinceSweep;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public ExpiringCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= ExpiringCache.this.maxSize) {
+                    return false;
+                }
+                if (eldest.getValue().expiresAt <= System.currentTimeMillis()) {
+                    expirations.increment();
+                } else {
+                    evictions.increment();
+                }
+                return true;
+            }
+        };
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, expiresAtMillis));
+            if (++putsSinceSweep >= maxSize) {
+                putsSinceSweep = 0;
+                sweepExpired(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requests > 0 ? (hitCount * 100.0 / requests) : 0);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+
+    // Caller holds the lock
+    private void sweepExpired(long now) {
+        entries.values().removeIf(entry -> {
+            if (entry.expiresAt <= now) {
+                expirations.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
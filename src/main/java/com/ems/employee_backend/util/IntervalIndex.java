@@ -0,0 +1,145 @@
+package com.ems.employee_backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable index over closed intervals [start, end] of long keys (epoch days
+ * for dates). Items are sorted by start and treated as an implicit balanced
+ * tree, each node keeping the largest end in its subtree, so finding the
+ * intervals already running when a range starts takes O(log n + k) for k
+ * matches. {@link #forEachDay} then sweeps the range once, handing over who is
+ * active on every key. Not thread-safe to build; safe to share once built.
+ */
+public class IntervalIndex<T> {
+
+    public interface DayConsumer<T> {
+        void accept(long day, List<T> active);
+    }
+
+    private final Object[] items;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private IntervalIndex(Object[] items, long[] starts, long[] ends) {
+        this.items = items;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[items.length];
+        buildMaxEnds(0, items.length);
+    }
+
+    public static <T> IntervalIndex<T> of(List<T> values, ToLongFunction<T> startOf, ToLongFunction<T> endOf) {
+        List<T> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.comparingLong(startOf));
+        Object[] items = sorted.toArray();
+        long[] starts = new long[items.length];
+        long[] ends = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            starts[i] = startOf.applyAsLong(sorted.get(i));
+            ends[i] = endOf.applyAsLong(sorted.get(i));
+        }
+        return new IntervalIndex<>(items, starts, ends);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Calls the consumer once per key in [from, to] with the items covering it.
+     * Items enter the active list when their start is reached and leave after
+     * their end, so the whole range costs O(log n + days + output).
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachDay(long from, long to, DayConsumer<T> consumer) {
+        // Intervals already running on the first key
+        Hits first = new Hits();
+        collect(0, items.length, from, from, first);
+        int[] active = Arrays.copyOf(first.positions, Math.max(1, items.length));
+        int activeCount = first.size;
+        int next = firstStartAtOrAfter(from + 1);
+
+        List<T> view = new ArrayList<>();
+        for (long day = from; day <= to; day++) {
+            if (day > from) {
+                int kept = 0;
+                for (int i = 0; i < activeCount; i++) {
+                    if (ends[active[i]] >= day) {
+                        active[kept++] = active[i];
+                    }
+                }
+                activeCount = kept;
+                while (next < items.length && starts[next] == day) {
+                    active[activeCount++] = next++;
+                }
+            }
+            view.clear();
+            for (int i = 0; i < activeCount; i++) {
+                view.add((T) items[active[i]]);
+            }
+            consumer.accept(day, view);
+        }
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, long from, long to, Hits hits) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Nothing in this subtree reaches the query range
+        if (maxEnds[mid] < from) {
+            return;
+        }
+        collect(lo, mid, from, to, hits);
+        // Everything from mid rightwards starts after the range
+        if (starts[mid] > to) {
+            return;
+        }
+        if (ends[mid] >= from) {
+            hits.add(mid);
+        }
+        collect(mid + 1, hi, from, to, hits);
+    }
+
+    private int firstStartAtOrAfter(long key) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Positions of matching items, without boxing
+    private static final class Hits {
+        private int[] positions = new int[8];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.ems.employee_backend.util;
 
+import com.ems.employee_backend.service.CredentialsVersionTracker;
 import com.ems.employee_backend.service.CustomUserDetailsService;
+import com.ems.employee_backend.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,22 +25,39 @@ public class JWTAuthFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
     private final CustomUserDetailsService customUserDetailsService;
+    private final CredentialsVersionTracker credentialsVersionTracker;
+    private final TokenRevocationService tokenRevocationService;
+
+    // Opt-in: build the principal from token claims instead of loading it from the Users table
+    @Value("${jwt.stateless-auth.enabled:false}")
+    private boolean statelessAuthEnabled;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
+        Claims claims = null;
         String username = null;
         
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
+            claims = jwtUtil.extractClaims(authHeader.substring(7));
+            // Revoked (logged out) tokens are treated as absent
+            username = tokenRevocationService.isRevoked(claims.getId()) ? null : claims.getSubject();
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            UserDetails userDetails;
+            if (statelessAuthEnabled && jwtUtil.hasPrincipalClaims(claims)) {
+                if (!credentialsVersionTracker.isCurrent(username, jwtUtil.extractCredentialsVersion(claims))) {
+                    // Token was issued before the last password change
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                userDetails = jwtUtil.buildPrincipal(claims);
+            } else {
+                userDetails = customUserDetailsService.loadPrincipal(username);
+            }
 
-            if (jwtUtil.validateToken(username, userDetails, token)) {
+            if (jwtUtil.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -1,24 +1,64 @@
 package com.ems.employee_backend.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import com.ems.employee_backend.entity.User;
 import org.hibernate.sql.ast.tree.AbstractUpdateOrDeleteStatement;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JWTUtil {
     private final String SECRET = "my-super-secret-key-that-is-long-enough-12345677890!@#";
     private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
     public final long EXPIRATION_TIME = 1000*60*60;
+
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String CREDENTIALS_VERSION_CLAIM = "cv";
+
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // Verified claims keyed by SHA-256 of the token; entries expire with the token itself
+    private final ExpiringCache<String, Claims> verifiedClaims;
+
+    public JWTUtil(@Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
+        this.verifiedClaims = new ExpiringCache<>(claimsCacheMaxSize);
+    }
+
     public String generateToken(String username){
        return Jwts.builder()
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public String generateToken(User user){
+       return Jwts.builder()
+                .setSubject(user.getUsername())
+                .setId(UUID.randomUUID().toString())
+                .claim(ROLE_CLAIM, user.getRole())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(CREDENTIALS_VERSION_CLAIM, user.getCredentialsVersion() != null ? user.getCredentialsVersion() : 0)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -31,19 +71,65 @@ public class JWTUtil {
          return body.getSubject();
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims extractClaims(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedClaims.get(digest);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedClaims.put(digest, claims, claims.getExpiration().getTime());
+            }
+        }
+        return claims;
     }
 
     public boolean validateToken(String username, UserDetails userDetails, String token){
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
+
+    public boolean validateToken(Claims claims, UserDetails userDetails){
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
+    }
+
+    public boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(ROLE_CLAIM) != null && claims.get(CREDENTIALS_VERSION_CLAIM) != null;
+    }
+
+    public int extractCredentialsVersion(Claims claims) {
+        return claims.get(CREDENTIALS_VERSION_CLAIM, Integer.class);
+    }
+
+    /**
+     * Rebuilds the authenticated principal from token claims alone, without a Users lookup.
+     */
+    public User buildPrincipal(Claims claims) {
+        User user = new User();
+        user.setId(claims.get(USER_ID_CLAIM, Long.class));
+        user.setUsername(claims.getSubject());
+        user.setRole(claims.get(ROLE_CLAIM, String.class));
+        user.setCredentialsVersion(extractCredentialsVersion(claims));
+        return user;
+    }
+
+    public Map<String, Object> getClaimsCacheStats() {
+        return verifiedClaims.stats();
+    }
+
     private boolean isTokenExpired(String token){
-        return extractClaims(token).getExpiration().before(new Date());
+        return isTokenExpired(extractClaims(token));
+    }
+
+    private boolean isTokenExpired(Claims claims){
+        return claims.getExpiration().before(new Date());
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
 }
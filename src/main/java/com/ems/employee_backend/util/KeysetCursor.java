@@ -0,0 +1,39 @@
+package com.ems.employee_backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key and id of the
+ * last row on the previous page, URL-safe Base64 encoded.
+ */
+public record KeysetCursor(String sortKey, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static String encode(long id) {
+        return encode("", id);
+    }
+
+    public static String encode(String sortKey, long id) {
+        String raw = (sortKey != null ? sortKey : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Id of the last row seen, or 0 to start from the beginning when no cursor was given.
+     */
+    public static long afterId(String token) {
+        return token == null || token.isBlank() ? 0L : decode(token).id();
+    }
+}
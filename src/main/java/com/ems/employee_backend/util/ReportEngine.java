@@ -0,0 +1,111 @@
+package com.ems.employee_backend.util;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Groups report rows by a long key in a single pass, folding each row into a
+ * mutable per-key accumulator of primitive counters. Above a size threshold
+ * the list is split across the common fork-join pool and the partial maps are
+ * merged, so large date ranges use every core.
+ */
+public final class ReportEngine {
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 50_000;
+    private static final int MIN_LEAF_SIZE = 4_096;
+
+    public interface Accumulator<A> {
+        void merge(A other);
+    }
+
+    private ReportEngine() {
+    }
+
+    public static <T, A extends Accumulator<A>> LongKeyedMap<A> groupBy(List<T> rows,
+                                                                     ToLongFunction<T> keyOf,
+                                                                     Supplier<A> newAccumulator,
+                                                                     BiConsumer<A, T> accumulate) {
+        return groupBy(rows, keyOf, newAccumulator, accumulate, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public static <T, A extends Accumulator<A>> LongKeyedMap<A> groupBy(List<T> rows,
+                                                                     ToLongFunction<T> keyOf,
+                                                                     Supplier<A> newAccumulator,
+                                                                     BiConsumer<A, T> accumulate,
+                                                                     int parallelThreshold) {
+        Grouping<T, A> grouping = new Grouping<>(keyOf, newAccumulator, accumulate);
+        if (rows.size() < parallelThreshold) {
+            return grouping.range(rows, 0, rows.size());
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int leafSize = Math.max(MIN_LEAF_SIZE, rows.size() / (pool.getParallelism() * 4));
+        return pool.invoke(new GroupTask<>(grouping, rows, 0, rows.size(), leafSize));
+    }
+
+    private record Grouping<T, A extends Accumulator<A>>(ToLongFunction<T> keyOf,
+                                                         Supplier<A> newAccumulator,
+                                                         BiConsumer<A, T> accumulate) {
+
+        LongKeyedMap<A> range(List<T> rows, int from, int to) {
+            LongKeyedMap<A> groups = new LongKeyedMap<>();
+            for (int i = from; i < to; i++) {
+                T row = rows.get(i);
+                long key = keyOf.applyAsLong(row);
+                A accumulator = groups.get(key);
+                if (accumulator == null) {
+                    accumulator = newAccumulator.get();
+                    groups.put(key, accumulator);
+                }
+                accumulate.accept(accumulator, row);
+            }
+            return groups;
+        }
+
+        LongKeyedMap<A> merge(LongKeyedMap<A> left, LongKeyedMap<A> right) {
+            LongKeyedMap<A> target = left.size() >= right.size() ? left : right;
+            LongKeyedMap<A> source = target == left ? right : left;
+            source.forEach((key, accumulator) -> {
+                A existing = target.get(key);
+                if (existing == null) {
+                    target.put(key, accumulator);
+                } else {
+                    existing.merge(accumulator);
+                }
+            });
+            return target;
+        }
+    }
+
+    private static final class GroupTask<T, A extends Accumulator<A>> extends RecursiveTask<LongKeyedMap<A>> {
+
+        private final Grouping<T, A> grouping;
+        private final List<T> rows;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        GroupTask(Grouping<T, A> grouping, List<T> rows, int from, int to, int leafSize) {
+            this.grouping = grouping;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected LongKeyedMap<A> compute() {
+            if (to - from <= leafSize) {
+                return grouping.range(rows, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            GroupTask<T, A> left = new GroupTask<>(grouping, rows, from, mid, leafSize);
+            left.fork();
+            LongKeyedMap<A> right = new GroupTask<>(grouping, rows, mid, to, leafSize).compute();
+            return grouping.merge(left.join(), right);
+        }
+    }
+}
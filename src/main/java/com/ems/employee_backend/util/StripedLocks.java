@@ -0,0 +1,36 @@
+package com.ems.employee_backend.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key hash. Work on the same key is
+ * serialized, while different keys almost always land on different stripes
+ * and proceed in parallel, without keeping one lock object per key.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock lockFor(Object key) {
+        int h = key.hashCode();
+        // Spread high bits so sequential ids do not cluster on neighbouring stripes
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return locks[h & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,147 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.dto.AttendanceResponse;
+import com.ems.employee_backend.entity.Attendance;
+import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.repository.ArchivedAttendanceRepository;
+import com.ems.employee_backend.repository.AttendanceDailyRollupRepository;
+import com.ems.employee_backend.repository.AttendanceMonthlyRollupRepository;
+import com.ems.employee_backend.repository.AttendanceRepository;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent check-ins for one employee against an in-memory attendance table
+ * that enforces (employee_id, date) like uk_attendance_employee_date does.
+ */
+class AttendanceServiceCheckInTest {
+
+    private static final int THREADS = 16;
+    private static final long EMPLOYEE_ID = 7L;
+
+    private final Map<String, Attendance> table = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private AttendanceRepository attendanceRepository;
+    private EmployeeRepository employeeRepository;
+    private AttendanceRollupService attendanceRollupService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository = mock(AttendanceRepository.class);
+        when(attendanceRepository.findByEmployeeIdAndDate(anyLong(), any()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get(key(invocation.getArgument(0), invocation.getArgument(1)))));
+        when(attendanceRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            Attendance row = invocation.getArgument(0);
+            row.setId(ids.incrementAndGet());
+            if (table.putIfAbsent(key(row.getEmployee().getId(), row.getDate()), row) != null) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'uk_attendance_employee_date'");
+            }
+            return row;
+        });
+
+        Employee employee = Employee.builder().id(EMPLOYEE_ID).firstName("Ada").lastName("Lovelace").departmentId(3L).build();
+        employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.findById(EMPLOYEE_ID)).thenReturn(Optional.of(employee));
+
+        attendanceRollupService = mock(AttendanceRollupService.class);
+
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void concurrentCheckInsOnOneNodeInsertOneRow() throws Exception {
+        AttendanceService service = newNode();
+
+        List<AttendanceResponse> responses = checkInConcurrently(List.of(service));
+
+        assertEquals(1, table.size());
+        assertSameRow(responses);
+        verify(attendanceRollupService, times(1)).add(any());
+    }
+
+    @Test
+    void concurrentCheckInsAcrossNodesInsertOneRow() throws Exception {
+        // Separate instances do not share the in-process lock, so only the constraint keeps them apart
+        List<AttendanceService> nodes = List.of(newNode(), newNode(), newNode(), newNode());
+
+        List<AttendanceResponse> responses = checkInConcurrently(nodes);
+
+        assertEquals(1, table.size());
+        assertSameRow(responses);
+    }
+
+    private List<AttendanceResponse> checkInConcurrently(List<AttendanceService> nodes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<AttendanceResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                AttendanceService node = nodes.get(i % nodes.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return node.checkIn(EMPLOYEE_ID);
+                }));
+            }
+            start.countDown();
+            List<AttendanceResponse> responses = new ArrayList<>();
+            for (Future<AttendanceResponse> future : futures) {
+                responses.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertSameRow(List<AttendanceResponse> responses) {
+        Long id = table.values().iterator().next().getId();
+        assertEquals(THREADS, responses.size());
+        for (AttendanceResponse response : responses) {
+            assertEquals(id, response.getId());
+            assertEquals(EMPLOYEE_ID, response.getEmployeeId());
+            assertEquals(LocalDate.now(), response.getDate());
+        }
+    }
+
+    private AttendanceService newNode() {
+        return new AttendanceService(attendanceRepository, employeeRepository, attendanceRollupService,
+                mock(AttendanceDailyRollupRepository.class), mock(AttendanceMonthlyRollupRepository.class),
+                mock(DepartmentNameCache.class), mock(CheckInGroupCommitter.class), transactionTemplate,
+                mock(AttendanceArchiveService.class), mock(ArchivedAttendanceRepository.class),
+                mock(BusinessCalendar.class), mock(AttendanceTimeColumnMigration.class),
+                mock(AttendanceUniqueConstraintMigration.class));
+    }
+
+    private static String key(Long employeeId, LocalDate date) {
+        return employeeId + ":" + date;
+    }
+}
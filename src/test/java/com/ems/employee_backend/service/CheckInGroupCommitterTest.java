@@ -0,0 +1,205 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.Attendance;
+import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.exception.ServiceUnavailableException;
+import com.ems.employee_backend.repository.AttendanceRepository;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the writer thread against a stubbed JdbcTemplate that records each
+ * batched insert and can fail rows for chosen employees.
+ */
+class CheckInGroupCommitterTest {
+
+    private static final long FLUSH_INTERVAL_MS = 200;
+
+    private final List<List<Long>> insertedBatches = new CopyOnWriteArrayList<>();
+    private final Set<Long> failingEmployees = new HashSet<>();
+    private final Set<Long> duplicateEmployees = new HashSet<>();
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private EmployeeRepository employeeRepository;
+    private AttendanceRepository attendanceRepository;
+    private CheckInGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> insert(invocation.getArgument(1), invocation.getArgument(2)));
+
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Employee> employees = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                if (id < 1000) {
+                    employees.add(Employee.builder().id(id).firstName("E" + id).lastName("L").departmentId(1L).build());
+                }
+            }
+            return employees;
+        });
+
+        attendanceRepository = mock(AttendanceRepository.class);
+        when(attendanceRepository.findByDateAndEmployeeIdIn(any(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (committer != null) {
+            committer.stop();
+        }
+    }
+
+    @Test
+    void insertsAGroupInOneBatchAndSharesRowsBetweenRepeats() throws Exception {
+        committer = start(5_000);
+
+        List<CompletableFuture<Attendance>> futures = new ArrayList<>();
+        for (long employeeId = 1; employeeId <= 10; employeeId++) {
+            futures.add(committer.submit(employeeId));
+        }
+        CompletableFuture<Attendance> repeat = committer.submit(3L);
+        CompletableFuture<Attendance> unknown = committer.submit(5000L);
+
+        for (CompletableFuture<Attendance> future : futures) {
+            assertEquals(LocalDate.now(), future.get(5, TimeUnit.SECONDS).getDate());
+        }
+        assertEquals(futures.get(2).get().getId(), repeat.get(5, TimeUnit.SECONDS).getId());
+        assertThrows(ExecutionException.class, () -> unknown.get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, insertedBatches.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), insertedBatches.get(0));
+        Map<String, Object> stats = committer.getStats();
+        assertEquals(1L, stats.get("batches"));
+        assertEquals(11L, stats.get("committed"));
+        assertEquals(1L, stats.get("failed"));
+        assertEquals(1L, stats.get("deduplicated"));
+    }
+
+    @Test
+    void retriesRowByRowWhenTheBatchFails() throws Exception {
+        failingEmployees.add(2L);
+        duplicateEmployees.add(3L);
+        Attendance existing = Attendance.builder().id(42L).date(LocalDate.now())
+                .employee(Employee.builder().id(3L).departmentId(1L).build()).build();
+        when(attendanceRepository.findByDateAndEmployeeIdIn(any(), eq(List.of(3L)))).thenReturn(List.of(existing));
+        committer = start(5_000);
+
+        CompletableFuture<Attendance> first = committer.submit(1L);
+        CompletableFuture<Attendance> failing = committer.submit(2L);
+        CompletableFuture<Attendance> duplicate = committer.submit(3L);
+        CompletableFuture<Attendance> last = committer.submit(4L);
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getEmployee().getId());
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataAccessResourceFailureException.class, error.getCause());
+        assertEquals(42L, duplicate.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(4L, last.get(5, TimeUnit.SECONDS).getEmployee().getId());
+
+        // The failed group insert, then one attempt per row
+        assertEquals(List.of(List.of(1L), List.of(4L)), insertedBatches);
+    }
+
+    @Test
+    void failsQueuedCheckInsWhenTheWriterDoesNotFinishBeforeShutdown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch flushing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushing.countDown();
+            release.await();
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+        committer = start(100);
+        try {
+            CompletableFuture<Attendance> inFlight = committer.submit(1L);
+            assertTrue(flushing.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Attendance> queued = committer.submit(2L);
+
+            committer.stop();
+
+            ExecutionException error = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ServiceUnavailableException.class, error.getCause());
+            assertThrows(ServiceUnavailableException.class, () -> committer.submit(3L));
+
+            // The batch already being written still completes normally
+            release.countDown();
+            assertEquals(1L, inFlight.get(5, TimeUnit.SECONDS).getEmployee().getId());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private CheckInGroupCommitter start(long shutdownTimeoutMs) {
+        CheckInGroupCommitter started = new CheckInGroupCommitter(jdbcTemplate, transactionTemplate, employeeRepository,
+                attendanceRepository, mock(AttendanceRollupService.class), true, 1000, 50, FLUSH_INTERVAL_MS, shutdownTimeoutMs);
+        started.start();
+        return started;
+    }
+
+    // Stands in for the JDBC batch: one generated key per row, failing the whole batch like a real one would
+    private int[] insert(BatchPreparedStatementSetter setter, KeyHolder keys) throws Exception {
+        List<Long> employeeIds = new ArrayList<>();
+        PreparedStatement statement = mock(PreparedStatement.class);
+        doAnswer(invocation -> employeeIds.add(invocation.getArgument(1))).when(statement).setLong(eq(1), anyLong());
+        for (int i = 0; i < setter.getBatchSize(); i++) {
+            setter.setValues(statement, i);
+        }
+        for (Long employeeId : employeeIds) {
+            if (failingEmployees.contains(employeeId)) {
+                throw new DataAccessResourceFailureException("Row for employee " + employeeId + " rejected");
+            }
+            if (duplicateEmployees.contains(employeeId)) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'uk_attendance_employee_date'");
+            }
+        }
+        insertedBatches.add(employeeIds);
+        for (int i = 0; i < employeeIds.size(); i++) {
+            keys.getKeyList().add(Map.of("GENERATED_KEY", ids.incrementAndGet()));
+        }
+        return new int[employeeIds.size()];
+    }
+}
@@ -0,0 +1,138 @@
+package com.ems.employee_backend.service;
+
+import com.ems.employee_backend.entity.Employee;
+import com.ems.employee_backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class EmployeeSearchIndexTest {
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Grace", "Linus", "Margaret", "Dennis", "Barbara", "Ken"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Turing", "Hopper", "Torvalds", "Hamilton", "Ritchie", "Liskov", "Thompson"};
+    private static final String[] TITLES = {"Engineer", "Analyst", "Manager", "Designer", "Accountant"};
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void matchesTheSameEmployeesAsASubstringScan() {
+        EmployeeSearchIndex index = newIndex(true);
+        List<Employee> employees = employees(2_000, new Random(42));
+        employees.forEach(index::put);
+
+        for (String query : List.of("ada", "Love", "ing", "ha", "x", "engineer", "on@", "ps")) {
+            assertEquals(scan(employees, query), new TreeSet<>(index.search(query, Integer.MAX_VALUE)), query);
+        }
+    }
+
+    @Test
+    void ranksExactNameMatchesFirst() {
+        EmployeeSearchIndex index = newIndex(true);
+        index.put(employee(1L, "Annabel", "Smith", "annabel@example.com", "Engineer"));
+        index.put(employee(2L, "Ann", "Jones", "ann@example.com", "Engineer"));
+        index.put(employee(3L, "Joanne", "Ann", "jo@example.com", "Analyst"));
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("ann", 10));
+        assertEquals(List.of(2L), index.search("ann", 1));
+    }
+
+    @Test
+    void putReplacesAndRemoveDrops() {
+        EmployeeSearchIndex index = newIndex(true);
+        index.put(employee(1L, "Grace", "Hopper", "grace@example.com", "Admiral"));
+        index.put(employee(1L, "Grace", "Murray", "grace@example.com", "Admiral"));
+
+        assertTrue(index.search("hopper", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("murray", 10));
+
+        index.remove(1L);
+        assertTrue(index.search("grace", 10).isEmpty());
+    }
+
+    @Test
+    void appliesTransactionalWritesOnlyAfterCommit() {
+        EmployeeSearchIndex index = newIndex(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.put(employee(1L, "Linus", "Torvalds", "linus@example.com", "Maintainer"));
+        assertTrue(index.search("linus", 10).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(1L), index.search("linus", 10));
+    }
+
+    @Test
+    void ignoresWritesWhenRolledBack() {
+        EmployeeSearchIndex index = newIndex(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.put(employee(1L, "Linus", "Torvalds", "linus@example.com", "Maintainer"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(index.search("linus", 10).isEmpty());
+    }
+
+    @Test
+    void disabledIndexIsNeverReadyAndKeepsNothing() {
+        EmployeeSearchIndex index = newIndex(false);
+        index.build();
+        index.put(employee(1L, "Ken", "Thompson", "ken@example.com", "Engineer"));
+
+        assertFalse(index.isReady());
+        assertTrue(index.search("ken", 10).isEmpty());
+    }
+
+    private static EmployeeSearchIndex newIndex(boolean enabled) {
+        return new EmployeeSearchIndex(mock(EmployeeRepository.class), enabled);
+    }
+
+    private static List<Employee> employees(int count, Random random) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(employee(id, first, last,
+                    (first + "." + last + id + "@example.com").toLowerCase(Locale.ROOT),
+                    TITLES[random.nextInt(TITLES.length)]));
+        }
+        return employees;
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String email, String jobTitle) {
+        return Employee.builder().id(id).firstName(firstName).lastName(lastName).email(email).jobTitle(jobTitle).build();
+    }
+
+    // What EmployeeRepository.searchEmployees matches: a case-insensitive substring of any indexed field
+    private static Set<Long> scan(List<Employee> employees, String query) {
+        String q = query.toLowerCase(Locale.ROOT);
+        Set<Long> ids = new TreeSet<>();
+        for (Employee employee : employees) {
+            for (String field : new String[]{employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getJobTitle()}) {
+                if (field != null && field.toLowerCase(Locale.ROOT).contains(q)) {
+                    ids.add(employee.getId());
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+}
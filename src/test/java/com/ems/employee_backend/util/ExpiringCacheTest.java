@@ -0,0 +1,84 @@
+package com.ems.employee_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExpiringCacheTest {
+
+    private static final long LIVE = Long.MAX_VALUE;
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryWhenFull() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(3);
+        cache.put("a", 1, LIVE);
+        cache.put("b", 2, LIVE);
+        cache.put("c", 3, LIVE);
+        cache.get("a");
+
+        cache.put("d", 4, LIVE);
+
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+        assertEquals(3, cache.size());
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void replacingAKeyDoesNotEvict() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(2);
+        cache.put("a", 1, LIVE);
+        cache.put("b", 2, LIVE);
+        cache.put("a", 10, LIVE);
+
+        assertEquals(10, cache.get("a"));
+        assertEquals(2, cache.get("b"));
+        assertEquals(0L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void dropsExpiredEntriesOnReadAndIgnoresAlreadyExpiredPuts() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+        cache.put("gone", 1, System.currentTimeMillis() - 1);
+        cache.put("short", 2, System.currentTimeMillis() + 20);
+        assertEquals(1, cache.size());
+
+        Thread.sleep(40);
+
+        assertNull(cache.get("short"));
+        assertEquals(0, cache.size());
+        assertEquals(1L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    void sweepsExpiredEntriesEveryMaxSizePuts() throws InterruptedException {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(4);
+        cache.put(1, 1, System.currentTimeMillis() + 20);
+        cache.put(2, 2, System.currentTimeMillis() + 20);
+        Thread.sleep(40);
+
+        cache.put(3, 3, LIVE);
+        cache.put(4, 4, LIVE);
+
+        assertEquals(2, cache.size());
+        assertEquals(2L, cache.stats().get("expirations"));
+        assertEquals(0L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void invalidateRemovesOneKeyAndInvalidateAllClears() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+        cache.put("a", 1, LIVE);
+        cache.put("b", 2, LIVE);
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.get("b"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
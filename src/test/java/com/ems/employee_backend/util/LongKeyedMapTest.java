@@ -0,0 +1,76 @@
+package com.ems.employee_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongKeyedMapTest {
+
+    @Test
+    void keepsEveryEntryAcrossRehashes() {
+        LongKeyedMap<String> map = new LongKeyedMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(11);
+        long[] edgeKeys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, 1L << 40};
+        for (long key : edgeKeys) {
+            map.put(key, "edge" + key);
+            expected.put(key, "edge" + key);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            // Multiples of a large power of two land on the same low bits before mixing
+            long key = random.nextBoolean() ? random.nextLong() : (long) random.nextInt(5_000) << 20;
+            map.put(key, "v" + i);
+            expected.put(key, "v" + i);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        assertNull(map.get(12345L << 21 | 1));
+
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+
+        long[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+    }
+
+    @Test
+    void putReplacesAndComputeIfAbsentCreatesOnce() {
+        LongKeyedMap<StringBuilder> map = new LongKeyedMap<>();
+        map.computeIfAbsent(7L, key -> new StringBuilder("a")).append("b");
+        map.computeIfAbsent(7L, key -> new StringBuilder("x")).append("c");
+        assertEquals("abc", map.get(7L).toString());
+
+        map.put(7L, new StringBuilder("z"));
+        assertEquals("z", map.get(7L).toString());
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void expectedSizeIsTheSmallestCapacityThatAvoidsARehash() {
+        for (int expectedSize = 0; expectedSize <= 5_000; expectedSize++) {
+            LongKeyedMap<Integer> map = new LongKeyedMap<>(expectedSize);
+            int capacity = map.capacity();
+            assertEquals(0, capacity & (capacity - 1), "power of two for " + expectedSize);
+
+            for (int key = 0; key < expectedSize; key++) {
+                map.put(key, key);
+            }
+            assertEquals(capacity, map.capacity(), "rehashed while filling to " + expectedSize);
+
+            // Half the capacity would have had to grow
+            int half = capacity >>> 1;
+            assertTrue(half < 4 || (int) (half * 0.6f) < expectedSize, "oversized for " + expectedSize);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ems.employee_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReportEngineTest {
+
+    @Test
+    void sequentialGroupingMatchesAHashMapGroupBy() {
+        List<Row> rows = rows(10_000, 300, new Random(3));
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        LongKeyedMap<Tally> grouped = ReportEngine.groupBy(rows, Row::employeeId, Tally::new, (tally, row) -> {
+            threads.add(Thread.currentThread());
+            tally.add(row);
+        });
+
+        assertEquals(expected(rows), toMap(grouped));
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void parallelGroupingMergesPartialResultsForTheSameKey() {
+        // Few keys over many leaves, so nearly every key is merged across tasks
+        List<Row> rows = rows(200_000, 50, new Random(5));
+
+        LongKeyedMap<Tally> grouped = ReportEngine.groupBy(rows, Row::employeeId, Tally::new, Tally::add, 1);
+
+        assertEquals(expected(rows), toMap(grouped));
+    }
+
+    @Test
+    void parallelGroupingKeepsKeysSeenByOnlyOneTask() {
+        // Sorted keys give each leaf its own key range, so merges mostly move entries between maps
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            rows.add(new Row(i / 3, i % 7));
+        }
+
+        LongKeyedMap<Tally> grouped = ReportEngine.groupBy(rows, Row::employeeId, Tally::new, Tally::add, 1);
+
+        assertEquals(expected(rows), toMap(grouped));
+    }
+
+    private static List<Row> rows(int count, int employees, Random random) {
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Row(random.nextInt(employees) + 1L, random.nextInt(15)));
+        }
+        return rows;
+    }
+
+    private static Map<Long, Tally> expected(List<Row> rows) {
+        return rows.stream().collect(Collectors.groupingBy(Row::employeeId,
+                Collectors.reducing(new Tally(), row -> {
+                    Tally tally = new Tally();
+                    tally.add(row);
+                    return tally;
+                }, Tally::sum)));
+    }
+
+    private static Map<Long, Tally> toMap(LongKeyedMap<Tally> grouped) {
+        Map<Long, Tally> result = new HashMap<>();
+        grouped.forEach(result::put);
+        return result;
+    }
+
+    private record Row(long employeeId, int days) {
+    }
+
+    private static final class Tally implements ReportEngine.Accumulator<Tally> {
+        private int count;
+        private long days;
+
+        void add(Row row) {
+            count++;
+            days += row.days();
+        }
+
+        @Override
+        public void merge(Tally other) {
+            count += other.count;
+            days += other.days;
+        }
+
+        static Tally sum(Tally left, Tally right) {
+            Tally tally = new Tally();
+            tally.merge(left);
+            tally.merge(right);
+            return tally;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tally other && count == other.count && days == other.days;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * count + Long.hashCode(days);
+        }
+
+        @Override
+        public String toString() {
+            return count + " rows / " + days + " days";
+        }
+    }
+}